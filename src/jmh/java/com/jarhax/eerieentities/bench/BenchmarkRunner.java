@@ -0,0 +1,136 @@
+package com.jarhax.eerieentities.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Runs the benchmarks, writes the results as JSON and optionally compares them with the results
+ * of an earlier run. This is started by the jmh Gradle task, which passes these system
+ * properties:
+ *
+ * <ul>
+ * <li>eerie.bench.results - The file to write the results to.</li>
+ * <li>eerie.bench.include - A regex of the benchmarks to run.</li>
+ * <li>eerie.bench.baseline - A results file to compare with.</li>
+ * <li>eerie.bench.threshold - The percent a benchmark may slow down before the run fails.</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+    
+    public static void main (String[] args) throws RunnerException, IOException {
+        
+        final File results = new File(System.getProperty("eerie.bench.results", "results.json"));
+        final String baseline = System.getProperty("eerie.bench.baseline");
+        
+        if (results.getParentFile() != null) {
+            
+            results.getParentFile().mkdirs();
+        }
+        
+        new Runner(new OptionsBuilder().include(System.getProperty("eerie.bench.include", "com\\.jarhax\\.eerieentities\\..*")).resultFormat(ResultFormatType.JSON).result(results.getPath()).build()).run();
+        
+        if (baseline != null && !compare(new File(baseline), results, Double.parseDouble(System.getProperty("eerie.bench.threshold", "-1")))) {
+            
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Prints the change of every benchmark in both result files. A positive change is always a
+     * slowdown, so for throughput benchmarks it is a drop in the score.
+     *
+     * @param baseline The results to compare against.
+     * @param current The results of this run.
+     * @param threshold The percent a benchmark may slow down by, or a negative value to allow any
+     *        change.
+     * @return Whether or not every benchmark is within the threshold.
+     * @throws IOException If either file could not be read.
+     */
+    private static boolean compare (File baseline, File current, double threshold) throws IOException {
+        
+        final Map<String, Score> before = readScores(baseline);
+        final Map<String, Score> after = readScores(current);
+        boolean passed = true;
+        
+        System.out.println();
+        System.out.println(String.format("%-80s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        
+        for (final Map.Entry<String, Score> entry : after.entrySet()) {
+            
+            final Score score = entry.getValue();
+            final Score old = before.get(entry.getKey());
+            
+            if (old == null || !old.mode.equals(score.mode)) {
+                
+                System.out.println(String.format("%-80s %14s %14.3f %9s", entry.getKey(), "-", score.value, old == null ? "new" : "mode"));
+                continue;
+            }
+            
+            // Throughput is the only mode where a higher score is better.
+            final double change = ("thrpt".equals(score.mode) ? old.value - score.value : score.value - old.value) / old.value * 100d;
+            final boolean regressed = threshold >= 0 && change > threshold;
+            passed &= !regressed;
+            System.out.println(String.format("%-80s %14.3f %14.3f %+8.1f%%%s", entry.getKey(), old.value, score.value, change, regressed ? " REGRESSED" : ""));
+        }
+        
+        return passed;
+    }
+    
+    private static Map<String, Score> readScores (File file) throws IOException {
+        
+        final Map<String, Score> scores = new LinkedHashMap<>();
+        
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            
+            final JsonArray results = new JsonParser().parse(reader).getAsJsonArray();
+            
+            for (final JsonElement element : results) {
+                
+                final JsonObject result = element.getAsJsonObject();
+                final StringBuilder name = new StringBuilder(result.get("benchmark").getAsString());
+                
+                if (result.has("params")) {
+                    
+                    for (final Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+                        
+                        name.append(' ').append(param.getKey()).append('=').append(param.getValue().getAsString());
+                    }
+                }
+                
+                scores.put(name.toString(), new Score(result.get("mode").getAsString(), result.getAsJsonObject("primaryMetric").get("score").getAsDouble()));
+            }
+        }
+        
+        return scores;
+    }
+    
+    private static class Score {
+        
+        /**
+         * The JMH benchmark mode, such as avgt or thrpt.
+         */
+        private final String mode;
+        private final double value;
+        
+        Score(String mode, double value) {
+            
+            this.mode = mode;
+            this.value = value;
+        }
+    }
+}
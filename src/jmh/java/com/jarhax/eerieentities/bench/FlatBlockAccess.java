@@ -0,0 +1,88 @@
+package com.jarhax.eerieentities.bench;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * A block access with stone below a fixed height and air above it. Part of the floor can be
+ * left out, so searches for solid ground have to retry.
+ */
+public class FlatBlockAccess implements IBlockAccess {
+    
+    private final int height;
+    private final int holePercent;
+    
+    /**
+     * @param height The first y level which is air.
+     * @param holePercent The percent of columns with no floor at all.
+     */
+    public FlatBlockAccess(int height, int holePercent) {
+        
+        this.height = height;
+        this.holePercent = holePercent;
+    }
+    
+    @Override
+    public IBlockState getBlockState (BlockPos pos) {
+        
+        if (pos.getY() >= this.height || Math.floorMod(MathHelper.getCoordinateRandom(pos.getX(), 0, pos.getZ()), 100L) < this.holePercent) {
+            
+            return Blocks.AIR.getDefaultState();
+        }
+        
+        return Blocks.STONE.getDefaultState();
+    }
+    
+    @Override
+    public boolean isAirBlock (BlockPos pos) {
+        
+        return this.getBlockState(pos).getBlock() == Blocks.AIR;
+    }
+    
+    @Override
+    public boolean isSideSolid (BlockPos pos, EnumFacing side, boolean _default) {
+        
+        return this.getBlockState(pos).isSideSolid(this, pos, side);
+    }
+    
+    @Nullable
+    @Override
+    public TileEntity getTileEntity (BlockPos pos) {
+        
+        return null;
+    }
+    
+    @Override
+    public int getCombinedLight (BlockPos pos, int lightValue) {
+        
+        return 15 << 20 | lightValue << 4;
+    }
+    
+    @Override
+    public Biome getBiome (BlockPos pos) {
+        
+        return Biomes.PLAINS;
+    }
+    
+    @Override
+    public int getStrongPower (BlockPos pos, EnumFacing direction) {
+        
+        return 0;
+    }
+    
+    @Override
+    public WorldType getWorldType () {
+        
+        return WorldType.FLAT;
+    }
+}
@@ -0,0 +1,248 @@
+package com.jarhax.eerieentities.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.openjdk.jol.vm.VM;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.entities.EntityCursedArmor;
+import com.jarhax.eerieentities.entities.EntityNetherKnight;
+import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
+import com.jarhax.eerieentities.entities.EntityWisp;
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.world.DifficultyInstance;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.World;
+
+/**
+ * Reports how much heap each of the mod's mobs keeps alive. The shallow size is the entity object
+ * itself, and the retained size is everything only that entity can reach. Anything reachable from
+ * the world or from another mob of the same type is shared and left out, so the retained size is
+ * what every additional mob costs. The same is reported for the biggest parts of each mob, along
+ * with the bytes of synced data each mob sends in its spawn packet. This is started by the
+ * footprint Gradle task, which passes the eerie.footprint.results system property with the file
+ * to write the report to.
+ */
+public class FootprintReport {
+    
+    private static final Map<Class<?>, Field[]> FIELDS = new HashMap<>();
+    
+    public static void main (String[] args) throws IOException {
+        
+        TestHelper.bootstrap();
+        
+        final World world = new TestWorld();
+        final Map<String, Function<World, EntityLiving>> mobs = new LinkedHashMap<>();
+        mobs.put("wisp", EntityWisp::new);
+        mobs.put("nether_knight", EntityNetherKnight::new);
+        mobs.put("pumpkin_slime", EntityPumpkinSlime::new);
+        mobs.put("cursed_armor", EntityCursedArmor::new);
+        
+        final JsonObject report = new JsonObject();
+        report.addProperty("vm", VM.current().details());
+        
+        System.out.println(String.format("%-16s %-14s %10s %10s", "Mob", "Part", "Shallow", "Retained"));
+        
+        for (final Map.Entry<String, Function<World, EntityLiving>> mob : mobs.entrySet()) {
+            
+            final EntityLiving first = spawn(mob.getValue(), world);
+            final EntityLiving entity = spawn(mob.getValue(), world);
+            
+            final Set<Object> shared = newIdentitySet();
+            walk(Collections.emptySet(), shared, world, first);
+            
+            final Map<String, Object[]> parts = new LinkedHashMap<>();
+            parts.put("data_manager", new Object[] { entity.getDataManager() });
+            parts.put("attributes", new Object[] { entity.getAttributeMap() });
+            parts.put("tasks", new Object[] { entity.tasks, entity.targetTasks });
+            parts.put("navigator", new Object[] { entity.getNavigator() });
+            parts.put("helpers", new Object[] { entity.getMoveHelper(), entity.getLookHelper(), entity.getJumpHelper(), entity.getEntitySenses() });
+            
+            // The parts point back at their entity, which would count the whole mob again.
+            final Set<Object> stop = newIdentitySet();
+            stop.addAll(shared);
+            stop.add(entity);
+            
+            final JsonObject json = new JsonObject();
+            json.add("entity", sizes(mob.getKey(), "entity", VM.current().sizeOf(entity), walk(shared, newIdentitySet(), entity)));
+            
+            for (final Map.Entry<String, Object[]> part : parts.entrySet()) {
+                
+                final Object[] roots = part.getValue();
+                long shallow = 0;
+                
+                for (final Object root : roots) {
+                    
+                    shallow += root != null ? VM.current().sizeOf(root) : 0;
+                }
+                
+                json.add(part.getKey(), sizes(mob.getKey(), part.getKey(), shallow, walk(stop, newIdentitySet(), roots)));
+            }
+            
+            final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+            entity.getDataManager().writeEntries(buffer);
+            json.addProperty("synced_bytes", buffer.readableBytes());
+            System.out.println(String.format("%-16s %-14s %10d", mob.getKey(), "synced_bytes", buffer.readableBytes()));
+            
+            report.add(mob.getKey(), json);
+        }
+        
+        final File results = new File(System.getProperty("eerie.footprint.results", "footprint.json"));
+        
+        if (results.getParentFile() != null) {
+            
+            results.getParentFile().mkdirs();
+        }
+        
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        
+        try (Writer writer = Files.newBufferedWriter(results.toPath(), StandardCharsets.UTF_8)) {
+            
+            gson.toJson(report, writer);
+        }
+        
+        System.out.println("Wrote the report to " + results.getAbsolutePath());
+    }
+    
+    private static EntityLiving spawn (Function<World, EntityLiving> factory, World world) {
+        
+        final EntityLiving entity = factory.apply(world);
+        entity.onInitialSpawn(new DifficultyInstance(EnumDifficulty.NORMAL, 0L, 0L, 0f), null);
+        return entity;
+    }
+    
+    private static JsonObject sizes (String mob, String part, long shallow, long retained) {
+        
+        System.out.println(String.format("%-16s %-14s %10d %10d", mob, part, shallow, retained));
+        
+        final JsonObject sizes = new JsonObject();
+        sizes.addProperty("shallow", shallow);
+        sizes.addProperty("retained", retained);
+        return sizes;
+    }
+    
+    private static Set<Object> newIdentitySet () {
+        
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+    
+    /**
+     * Adds up the size of every object reachable from the roots, without going through any of
+     * the stop objects.
+     *
+     * @param stop The objects which are not counted or followed.
+     * @param seen The objects which have been counted, every new one is added.
+     * @param roots The objects to start from.
+     * @return The size of all the newly counted objects in bytes.
+     */
+    private static long walk (Set<Object> stop, Set<Object> seen, Object... roots) {
+        
+        final Deque<Object> pending = new ArrayDeque<>();
+        long size = 0;
+        
+        for (final Object root : roots) {
+            
+            push(pending, root);
+        }
+        
+        while (!pending.isEmpty()) {
+            
+            final Object object = pending.pop();
+            
+            if (stop.contains(object) || !seen.add(object)) {
+                
+                continue;
+            }
+            
+            size += VM.current().sizeOf(object);
+            
+            final Class<?> type = object.getClass();
+            
+            if (type.isArray()) {
+                
+                if (!type.getComponentType().isPrimitive()) {
+                    
+                    for (final Object element : (Object[]) object) {
+                        
+                        push(pending, element);
+                    }
+                }
+                
+                continue;
+            }
+            
+            for (final Field field : getFields(type)) {
+                
+                try {
+                    
+                    push(pending, field.get(object));
+                }
+                
+                catch (final IllegalAccessException e) {
+                    
+                    throw new IllegalStateException("Could not read " + field, e);
+                }
+            }
+        }
+        
+        return size;
+    }
+    
+    /**
+     * Queues an object to be walked. Classes, class loaders and threads are shared by the whole
+     * game, so they are never followed.
+     */
+    private static void push (Deque<Object> pending, Object object) {
+        
+        if (object != null && !(object instanceof Class) && !(object instanceof ClassLoader) && !(object instanceof Thread)) {
+            
+            pending.push(object);
+        }
+    }
+    
+    private static Field[] getFields (Class<?> type) {
+        
+        return FIELDS.computeIfAbsent(type, key -> {
+            
+            final List<Field> fields = new ArrayList<>();
+            
+            for (Class<?> current = key; current != null; current = current.getSuperclass()) {
+                
+                for (final Field field : current.getDeclaredFields()) {
+                    
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            
+            return fields.toArray(new Field[0]);
+        });
+    }
+}
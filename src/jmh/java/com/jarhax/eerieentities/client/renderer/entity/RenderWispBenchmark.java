@@ -0,0 +1,51 @@
+package com.jarhax.eerieentities.client.renderer.entity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.test.TestHelper;
+
+/**
+ * Measures picking a wisp color, including the lookup of the color table for the spawn date.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderWispBenchmark {
+    
+    private final float[] rgb = new float[3];
+    private int ticks;
+    
+    @Setup
+    public void setup () {
+        
+        TestHelper.bootstrap();
+    }
+    
+    @Benchmark
+    public float[] getColor () {
+        
+        final int tick = this.ticks++;
+        final float[][] colorTable = RenderWisp.getColorTable(1 + tick % 12, 1 + tick % 31);
+        
+        if (colorTable != null) {
+            
+            RenderWisp.getColor(tick, 42, colorTable, 0.5f, this.rgb);
+        }
+        
+        return this.rgb;
+    }
+}
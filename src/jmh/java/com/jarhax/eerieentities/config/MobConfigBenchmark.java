@@ -0,0 +1,93 @@
+package com.jarhax.eerieentities.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.test.TestHelper;
+
+import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Measures resolving the configured biomes of each mob, and adding spawn entries to sets of
+ * synthetic biomes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobConfigBenchmark {
+    
+    @Param({ "16", "64", "256" })
+    public int biomeCount;
+    
+    private final List<Biome> biomes = new ArrayList<>();
+    
+    @Setup
+    public void setup () {
+        
+        TestHelper.bootstrap();
+        
+        for (int i = 0; i < this.biomeCount; i++) {
+            
+            this.biomes.add(new Biome(new Biome.BiomeProperties("benchmark_" + i)));
+        }
+    }
+    
+    /**
+     * Clears the entries added by the last invocation, so the spawn lists do not keep growing.
+     */
+    @Setup(Level.Invocation)
+    public void clearSpawns () {
+        
+        for (final Biome biome : this.biomes) {
+            
+            for (final EnumCreatureType type : EnumCreatureType.values()) {
+                
+                biome.getSpawnableList(type).clear();
+            }
+        }
+    }
+    
+    @Benchmark
+    public int resolveBiomes () {
+        
+        int found = 0;
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            final Set<Biome> resolved = config.getSpawnBiomes();
+            found += resolved.size();
+        }
+        
+        return found;
+    }
+    
+    @Benchmark
+    public List<Biome> addSpawns () {
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            config.addSpawns(this.biomes);
+        }
+        
+        return this.biomes;
+    }
+}
@@ -0,0 +1,120 @@
+package com.jarhax.eerieentities.entities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+import com.jarhax.eerieentities.util.StateTag;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+
+/**
+ * Measures saving a chunk with a farm of 200 tamed pumpkin slimes, with the packed state tag or
+ * with the keys used before it. The chunk is deflated the same way region files are, and its
+ * size is printed once during setup. The legacy keys are made by replacing the packed tag after
+ * each slime is written, so the legacy time also includes removing that tag.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobStateBenchmark {
+    
+    private static final int SLIMES = 200;
+    
+    @Param({ "packed", "legacy" })
+    public String format;
+    
+    private final EntityPumpkinSlime[] slimes = new EntityPumpkinSlime[SLIMES];
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private boolean legacy;
+    
+    @Setup
+    public void setup () throws IOException {
+        
+        TestHelper.bootstrap();
+        
+        final World world = new TestWorld();
+        final UUID owner = new UUID(42L, 42L);
+        this.legacy = "legacy".equals(this.format);
+        
+        for (int i = 0; i < SLIMES; i++) {
+            
+            final EntityPumpkinSlime slime = new EntityPumpkinSlime(world);
+            slime.setPosition(i % 16 + 0.5d, 64d, i / 16 % 16 + 0.5d);
+            slime.setType(i % 5);
+            slime.setBlock(i % 2 == 0);
+            slime.setOwnerId(owner);
+            slime.setSitting(i % 3 == 0);
+            this.slimes[i] = slime;
+        }
+        
+        System.out.println(String.format("A chunk with %d %s slimes deflates to %d bytes.", SLIMES, this.format, this.saveChunk()));
+    }
+    
+    @Benchmark
+    public int saveChunk () throws IOException {
+        
+        final NBTTagList entities = new NBTTagList();
+        
+        for (final EntityPumpkinSlime slime : this.slimes) {
+            
+            final NBTTagCompound tag = new NBTTagCompound();
+            slime.writeToNBT(tag);
+            
+            if (this.legacy) {
+                
+                toLegacy(slime, tag);
+            }
+            
+            entities.appendTag(tag);
+        }
+        
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setTag("Entities", entities);
+        final NBTTagCompound chunk = new NBTTagCompound();
+        chunk.setTag("Level", level);
+        
+        this.buffer.reset();
+        
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(this.buffer))) {
+            
+            CompressedStreamTools.write(chunk, output);
+        }
+        
+        return this.buffer.size();
+    }
+    
+    private static void toLegacy (EntityPumpkinSlime slime, NBTTagCompound tag) {
+        
+        final int state = StateTag.read(tag);
+        tag.removeTag(StateTag.KEY);
+        tag.setBoolean("IsBlockForm", slime.isBlock());
+        tag.setInteger("Type", slime.getType());
+        tag.setFloat("LookRotation", (state >> 6 & 3) * 90f);
+        tag.setBoolean("AllowTaming", (state & 1 << 1) != 0);
+        tag.setBoolean("Sitting", slime.isSitting());
+    }
+}
@@ -0,0 +1,60 @@
+package com.jarhax.eerieentities.entities;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.bench.FlatBlockAccess;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.test.TestHelper;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Measures the search for a spot to spawn reinforcements in, on floors with more and more
+ * missing blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetherKnightBenchmark {
+    
+    /**
+     * The percent of columns without a floor. At 100 every search fails after all 25 tries.
+     */
+    @Param({ "0", "50", "90", "100" })
+    public int holePercent;
+    
+    private final Random random = new Random(42L);
+    private final BlockPos origin = new BlockPos(0, 64, 0);
+    private FlatBlockAccess world;
+    private int[] range;
+    
+    @Setup
+    public void setup () {
+        
+        TestHelper.bootstrap();
+        this.world = new FlatBlockAccess(64, this.holePercent);
+        this.range = Config.netherKnight.getSpawnRange();
+    }
+    
+    @Benchmark
+    public BlockPos findReinforcementPos () {
+        
+        return EntityNetherKnight.findReinforcementPos(this.world, this.origin, this.random, this.range);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jarhax.eerieentities.entities;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+
+/**
+ * Measures saving a tamed pumpkin slime and loading it into another slime, as well as loading
+ * the keys used before the state was packed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PumpkinSlimeBenchmark {
+    
+    private EntityPumpkinSlime slime;
+    private EntityPumpkinSlime copy;
+    private NBTTagCompound legacy;
+    
+    @Setup
+    public void setup () {
+        
+        TestHelper.bootstrap();
+        
+        final World world = new TestWorld();
+        this.slime = new EntityPumpkinSlime(world);
+        this.slime.setType(3);
+        this.slime.setBlock(true);
+        this.slime.setOwnerId(new UUID(42L, 42L));
+        this.copy = new EntityPumpkinSlime(world);
+        
+        this.legacy = new NBTTagCompound();
+        this.slime.writeEntityToNBT(this.legacy);
+        this.legacy.removeTag("State");
+        this.legacy.setBoolean("IsBlockForm", true);
+        this.legacy.setInteger("Type", 3);
+        this.legacy.setFloat("LookRotation", 90f);
+        this.legacy.setBoolean("AllowTaming", true);
+        this.legacy.setBoolean("Sitting", false);
+    }
+    
+    @Benchmark
+    public EntityPumpkinSlime roundTrip () {
+        
+        final NBTTagCompound compound = new NBTTagCompound();
+        this.slime.writeEntityToNBT(compound);
+        this.copy.readEntityFromNBT(compound);
+        return this.copy;
+    }
+    
+    @Benchmark
+    public EntityPumpkinSlime readLegacy () {
+        
+        this.copy.readEntityFromNBT(this.legacy);
+        return this.copy;
+    }
+}
@@ -0,0 +1,115 @@
+package com.jarhax.eerieentities.items;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+import com.jarhax.eerieentities.world.WorldTracker;
+
+import net.minecraft.entity.monster.EntitySkeleton;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.EnumHand;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingAttackEvent;
+import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+/**
+ * Compares the shield attack hook against the check it replaced, which looked at the active item
+ * of every attacked entity. Each operation attacks every mob in a fight once, while some of them
+ * are blocking with a shield.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemShieldBaseBenchmark {
+    
+    private static final int MOBS = 256;
+    
+    /**
+     * The percent of mobs which are blocking with a shield.
+     */
+    @Param({ "0", "10", "50" })
+    public int blockingPercent;
+    
+    private World world;
+    private LivingAttackEvent[] attacks;
+    
+    @Setup
+    public void setup () {
+        
+        TestHelper.bootstrap();
+        this.world = new TestWorld();
+        WorldTracker.onWorldLoad(new WorldEvent.Load(this.world));
+        
+        final ItemShieldBase shield = new ItemNetherShield();
+        this.attacks = new LivingAttackEvent[MOBS];
+        
+        for (int index = 0; index < MOBS; index++) {
+            
+            final EntitySkeleton mob = new EntitySkeleton(this.world);
+            
+            if (index * 100 < this.blockingPercent * MOBS) {
+                
+                final ItemStack stack = new ItemStack(shield);
+                mob.setItemStackToSlot(EntityEquipmentSlot.OFFHAND, stack);
+                mob.setActiveHand(EnumHand.OFF_HAND);
+                ItemShieldBase.onUseStart(new LivingEntityUseItemEvent.Start(mob, stack, shield.getMaxItemUseDuration(stack)));
+            }
+            
+            this.attacks[index] = new LivingAttackEvent(mob, DamageSource.GENERIC, 2f);
+        }
+    }
+    
+    @TearDown
+    public void tearDown () {
+        
+        WorldTracker.onWorldUnload(new WorldEvent.Unload(this.world));
+    }
+    
+    @Benchmark
+    public LivingAttackEvent[] blockingIndex () {
+        
+        for (final LivingAttackEvent attack : this.attacks) {
+            
+            ItemShieldBase.onAttack(attack);
+        }
+        
+        return this.attacks;
+    }
+    
+    @Benchmark
+    public LivingAttackEvent[] activeItem () {
+        
+        for (final LivingAttackEvent attack : this.attacks) {
+            
+            final Item item = attack.getEntityLiving().getActiveItemStack().getItem();
+            
+            if (item instanceof ItemShieldBase && !attack.getSource().isUnblockable()) {
+                
+                ((ItemShieldBase) item).blockDamage(attack.getEntityLiving(), attack.getSource(), attack.getAmount());
+            }
+        }
+        
+        return this.attacks;
+    }
+}
@@ -0,0 +1,97 @@
+package com.jarhax.eerieentities.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jarhax.eerieentities.entities.WispType;
+
+/**
+ * Compares drawing from a {@link WeightedTable} with walking the cumulative weights, which is
+ * how weighted picks worked before the table was added.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedTableBenchmark {
+    
+    /**
+     * The amount of entries. Zero uses the wisp type weights.
+     */
+    @Param({ "0", "16", "256" })
+    public int size;
+    
+    private final Random random = new Random(42L);
+    private int[] weights;
+    private int total;
+    private WeightedTable table;
+    
+    @Setup
+    public void setup () {
+        
+        if (this.size == 0) {
+            
+            this.weights = new int[WispType.values().length];
+            
+            for (final WispType type : WispType.values()) {
+                
+                this.weights[type.ordinal()] = type.getWeight();
+            }
+        }
+        
+        else {
+            
+            this.weights = new int[this.size];
+            
+            for (int i = 0; i < this.size; i++) {
+                
+                this.weights[i] = 1 + this.random.nextInt(100);
+            }
+        }
+        
+        for (final int weight : this.weights) {
+            
+            this.total += weight;
+        }
+        
+        this.table = new WeightedTable(this.weights);
+    }
+    
+    @Benchmark
+    public int table () {
+        
+        return this.table.nextIndex(this.random);
+    }
+    
+    @Benchmark
+    public int linearScan () {
+        
+        int roll = this.random.nextInt(this.total);
+        
+        for (int i = 0; i < this.weights.length; i++) {
+            
+            roll -= this.weights[i];
+            
+            if (roll < 0) {
+                
+                return i;
+            }
+        }
+        
+        return this.weights.length - 1;
+    }
+}
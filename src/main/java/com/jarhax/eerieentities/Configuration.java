@@ -1,6 +1,7 @@
 package com.jarhax.eerieentities;
 
 import java.io.File;
+import java.util.Arrays;
 
 import net.minecraft.util.ResourceLocation;
 
@@ -24,6 +25,12 @@ public class Configuration extends net.minecraftforge.common.config.Configuratio
         return this.getFloat(name, category, (float) defaultValue, (float) minValue, (float) maxValue, comment);
     }
     
+    public int[] getWeights (String name, String category, int[] defaultValues, String comment) {
+        
+        // Missing weights are treated as zero, and extra weights are ignored.
+        return Arrays.copyOf(this.get(category, name, defaultValues, comment, 0, 1024).getIntList(), defaultValues.length);
+    }
+    
     public ResourceLocation getResourceLocation (String name, String category, String defaultValue, String comment) {
         
         return new ResourceLocation(this.getString(name, category, defaultValue, comment));
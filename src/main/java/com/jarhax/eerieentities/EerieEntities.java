@@ -1,41 +1,60 @@
 package com.jarhax.eerieentities;
 
+import java.io.File;
+import java.util.concurrent.Future;
+
 import com.jarhax.eerieentities.block.BlockCarvedPumpkin;
 import com.jarhax.eerieentities.block.BlockCarvedPumpkin.PumpkinType;
+import com.jarhax.eerieentities.block.PumpkinMigration;
 import com.jarhax.eerieentities.client.ClientEvents;
 import com.jarhax.eerieentities.client.ShaderHandler;
+import com.jarhax.eerieentities.client.bench.RenderBenchmark;
+import com.jarhax.eerieentities.client.command.CommandRenderProfile;
 import com.jarhax.eerieentities.client.gui.FontRendererRunelic;
 import com.jarhax.eerieentities.client.renderer.entity.RenderCursedArmor;
 import com.jarhax.eerieentities.client.renderer.entity.RenderPumpkinSlime;
 import com.jarhax.eerieentities.client.renderer.entity.RenderWisp;
 import com.jarhax.eerieentities.client.renderer.entity.knight.RenderNetherKnight;
+import com.jarhax.eerieentities.command.CommandEerie;
 import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityCursedArmor;
 import com.jarhax.eerieentities.entities.EntityNetherKnight;
 import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
 import com.jarhax.eerieentities.entities.EntityWisp;
 import com.jarhax.eerieentities.items.ItemBlockArmor;
+import com.jarhax.eerieentities.items.ItemBlockPumpkin;
 import com.jarhax.eerieentities.items.ItemNetherShield;
+import com.jarhax.eerieentities.loadtest.LoadTest;
+import com.jarhax.eerieentities.network.MessageEffects;
+import com.jarhax.eerieentities.network.MessageSlimeOwner;
+import com.jarhax.eerieentities.profiler.Metrics;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+import com.jarhax.eerieentities.profiler.StartupTimer;
 
 import net.darkhax.bookshelf.lib.LoggingHelper;
 import net.darkhax.bookshelf.network.NetworkHandler;
 import net.darkhax.bookshelf.registry.RegistryHelper;
 import net.darkhax.bookshelf.util.OreDictUtils;
-import net.minecraft.block.Block;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.ClientCommandHandler;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.client.registry.RenderingRegistry;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartedEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -62,37 +81,64 @@ public class EerieEntities {
     @EventHandler
     public void onPreInit (FMLPreInitializationEvent event) {
         
-        Config.syncConfigData();
+        final long start = System.nanoTime();
+        
+        // Reading the config doesn't touch the registries, so it runs while they are filled.
+        // Nothing registered here reads the config until after pre init.
+        final Future<?> config = StartupTimer.submit(StartupTimer.PRE_INIT, "config", Config::syncConfigData);
+        
+        StartupTimer.time(StartupTimer.PRE_INIT, "network", () -> {
+            
+            NETWORK.register(MessageSlimeOwner.class, Side.CLIENT);
+            NETWORK.register(MessageEffects.class, Side.CLIENT);
+        });
+        
+        StartupTimer.time(StartupTimer.PRE_INIT, "mobs", () -> {
+            
+            REGISTRY.registerMob(EntityWisp.class, "wisp", 0, 0x00ffff, 0x33ccff);
+            REGISTRY.registerMob(EntityPumpkinSlime.class, "pumpkin_slime", 1, 0xB67317, 0x804809);
+            REGISTRY.registerMob(EntityNetherKnight.class, "nether_knight", 2, 16775294, 16167425);
+            REGISTRY.registerMob(EntityCursedArmor.class, "cursed_armor", 3, 0xffffff, 0x000000);
+            
+            netherShield = REGISTRY.registerItem(new ItemNetherShield(), "nether_shield");
+        });
+        
+        StartupTimer.time(StartupTimer.PRE_INIT, "pumpkins", EerieEntities::registerPumpkins);
+        StartupTimer.time(StartupTimer.PRE_INIT, "fixes", PumpkinMigration::registerFixes);
+        StartupTimer.time(StartupTimer.PRE_INIT, "config_wait", () -> StartupTimer.join(config));
+        StartupTimer.endPhase(StartupTimer.PRE_INIT, start);
+    }
+    
+    private static void registerPumpkins () {
         
-        REGISTRY.registerMob(EntityWisp.class, "wisp", 0, 0x00ffff, 0x33ccff);
-        REGISTRY.registerMob(EntityPumpkinSlime.class, "pumpkin_slime", 1, 0xB67317, 0x804809);
-        REGISTRY.registerMob(EntityNetherKnight.class, "nether_knight", 2, 16775294, 16167425);
-        REGISTRY.registerMob(EntityCursedArmor.class, "cursed_armor", 3, 0xffffff, 0x000000);
+        // Add all the pumpkin variants, up to four types share one block.
+        final int pages = PumpkinType.getPageCount();
+        final BlockCarvedPumpkin[] normalBlocks = new BlockCarvedPumpkin[pages];
+        final BlockCarvedPumpkin[] litBlocks = new BlockCarvedPumpkin[pages];
         
-        netherShield = REGISTRY.registerItem(new ItemNetherShield(), "nether_shield");
+        for (int page = 0; page < pages; page++) {
+            
+            normalBlocks[page] = new BlockCarvedPumpkin(page, false);
+            REGISTRY.registerBlock(normalBlocks[page], new ItemBlockArmor(EntityEquipmentSlot.HEAD, normalBlocks[page]), BlockCarvedPumpkin.getName(page, false));
+            normalBlocks[page].setTranslationKey("pumpkin");
+            
+            litBlocks[page] = new BlockCarvedPumpkin(page, true);
+            REGISTRY.registerBlock(litBlocks[page], new ItemBlockPumpkin(litBlocks[page]), BlockCarvedPumpkin.getName(page, true));
+            litBlocks[page].setTranslationKey("litpumpkin");
+        }
         
-        // Add all the pumpkin variants
-        for (final BlockCarvedPumpkin.PumpkinType type : PumpkinType.values()) {
+        for (final PumpkinType type : PumpkinType.values()) {
             
             if (type != PumpkinType.NORMAL) {
                 
                 final String name = type.name().toLowerCase();
-                final BlockCarvedPumpkin normal = new BlockCarvedPumpkin(type);
-                final ItemBlock itemNormal = new ItemBlockArmor(EntityEquipmentSlot.HEAD, normal, type);
-                REGISTRY.registerBlock(normal, itemNormal, "pumpkin_" + name);
-                normal.setTranslationKey("pumpkin");
-                
-                final Block lit = new BlockCarvedPumpkin(type);
-                final ItemBlock itemLit = new ItemBlock(lit);
-                REGISTRY.registerBlock(lit, itemLit, "pumpkin_lit_" + name);
-                lit.setTranslationKey("litpumpkin");
-                lit.setLightLevel(1f);
+                type.setBlocks(normalBlocks[type.getPage()], litBlocks[type.getPage()]);
                 
-                type.setItems(normal, lit);
-                
-                REGISTRY.addShapelessRecipe("light_pumpkin_" + name, new ItemStack(itemLit), new ItemStack(itemNormal), "torch");
-                REGISTRY.addShapelessRecipe("pumpkin_seeds_" + name, new ItemStack(Items.PUMPKIN_SEEDS, 4), new ItemStack(itemNormal));
-                REGISTRY.addShapelessRecipe("pumpkin_pie_" + name, new ItemStack(Items.PUMPKIN_PIE), OreDictUtils.EGG, Items.SUGAR, new ItemStack(itemNormal));
+                final ItemStack normal = new ItemStack(type.getNormal(), 1, type.getVariant());
+                final ItemStack lit = new ItemStack(type.getLit(), 1, type.getVariant());
+                REGISTRY.addShapelessRecipe("light_pumpkin_" + name, lit, normal, "torch");
+                REGISTRY.addShapelessRecipe("pumpkin_seeds_" + name, new ItemStack(Items.PUMPKIN_SEEDS, 4), normal);
+                REGISTRY.addShapelessRecipe("pumpkin_pie_" + name, new ItemStack(Items.PUMPKIN_PIE), OreDictUtils.EGG, Items.SUGAR, normal);
             }
         }
     }
@@ -101,24 +147,86 @@ public class EerieEntities {
     @SideOnly(Side.CLIENT)
     public void onClientPreInit (FMLPreInitializationEvent event) {
         
-        ShaderHandler.registerShaders();
-        MinecraftForge.EVENT_BUS.register(new ClientEvents());
-        RenderingRegistry.registerEntityRenderingHandler(EntityWisp.class, RenderWisp::new);
-        RenderingRegistry.registerEntityRenderingHandler(EntityPumpkinSlime.class, RenderPumpkinSlime::new);
-        RenderingRegistry.registerEntityRenderingHandler(EntityNetherKnight.class, RenderNetherKnight::new);
-        RenderingRegistry.registerEntityRenderingHandler(EntityCursedArmor.class, RenderCursedArmor::new);
+        final long start = System.nanoTime();
+        
+        // The shader and renderers need the GL context, so they stay on the main thread.
+        StartupTimer.time(StartupTimer.CLIENT_PRE_INIT, "shaders", ShaderHandler::registerShaders);
+        StartupTimer.time(StartupTimer.CLIENT_PRE_INIT, "renderers", () -> {
+            
+            MinecraftForge.EVENT_BUS.register(new ClientEvents());
+            RenderingRegistry.registerEntityRenderingHandler(EntityWisp.class, RenderWisp::new);
+            RenderingRegistry.registerEntityRenderingHandler(EntityPumpkinSlime.class, RenderPumpkinSlime::new);
+            RenderingRegistry.registerEntityRenderingHandler(EntityNetherKnight.class, RenderNetherKnight::new);
+            RenderingRegistry.registerEntityRenderingHandler(EntityCursedArmor.class, RenderCursedArmor::new);
+        });
+        StartupTimer.endPhase(StartupTimer.CLIENT_PRE_INIT, start);
     }
     
     @EventHandler
     @SideOnly(Side.CLIENT)
     public void onClientInit (FMLInitializationEvent event) {
         
-        fontRunelic = new FontRendererRunelic();
+        final long start = System.nanoTime();
+        StartupTimer.time(StartupTimer.CLIENT_INIT, "font", () -> fontRunelic = new FontRendererRunelic());
+        StartupTimer.time(StartupTimer.CLIENT_INIT, "commands", () -> {
+            
+            ClientCommandHandler.instance.registerCommand(new CommandRenderProfile());
+            RenderBenchmark.init();
+        });
+        StartupTimer.endPhase(StartupTimer.CLIENT_INIT, start);
     }
     
     @EventHandler
     public void onPostInit (FMLPostInitializationEvent event) {
         
-        Config.updateSpawnEntries();
+        final long start = System.nanoTime();
+        StartupTimer.time(StartupTimer.POST_INIT, "spawns", Config::updateSpawnEntries);
+        StartupTimer.endPhase(StartupTimer.POST_INIT, start);
+        StartupTimer.finish(Loader.instance().getConfigDir().getParentFile());
+    }
+    
+    @EventHandler
+    public void onServerStarting (FMLServerStartingEvent event) {
+        
+        event.registerServerCommand(new CommandEerie());
+        Metrics.start();
+    }
+    
+    @EventHandler
+    public void onServerStarted (FMLServerStartedEvent event) {
+        
+        LoadTest.start(FMLCommonHandler.instance().getMinecraftServerInstance());
+    }
+    
+    @EventHandler
+    public void onServerStopped (FMLServerStoppedEvent event) {
+        
+        PumpkinMigration.clearLegacyIds();
+        MobProfiler.disable();
+        Metrics.stop();
+    }
+    
+    /**
+     * Gets a directory for files written by the mod, such as profiles and telemetry dumps.
+     *
+     * @param server The running server.
+     * @param name The name of the directory.
+     * @return A directory inside the server's own directory.
+     */
+    public static File getOutputDirectory (MinecraftServer server, String name) {
+        
+        return getOutputDirectory(server.getDataDirectory(), name);
+    }
+    
+    /**
+     * Gets a directory for files written by the mod, such as client benchmark reports.
+     *
+     * @param gameDir The directory the game was started in.
+     * @param name The name of the directory.
+     * @return A directory inside the game directory.
+     */
+    public static File getOutputDirectory (File gameDir, String name) {
+        
+        return new File(new File(gameDir, MODID), name);
     }
 }
@@ -1,23 +1,129 @@
 package com.jarhax.eerieentities.block;
 
+import javax.annotation.Nullable;
+
 import com.jarhax.eerieentities.EerieEntities;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockPumpkin;
 import net.minecraft.block.SoundType;
+import net.minecraft.block.properties.PropertyInteger;
+import net.minecraft.block.state.BlockStateContainer;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.creativetab.CreativeTabs;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.NonNullList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 
+/**
+ * A block holding up to {@link #TYPES_PER_BLOCK} carved pumpkin types. Each type can face four
+ * directions, which fills all sixteen metadata values. The types are split across as many blocks
+ * as needed, which are called pages.
+ */
 public class BlockCarvedPumpkin extends BlockPumpkin {
     
-    private final PumpkinType type;
+    public static final int TYPES_PER_BLOCK = 4;
+    public static final PropertyInteger VARIANT = PropertyInteger.create("variant", 0, TYPES_PER_BLOCK - 1);
+    
+    private final int page;
+    private final boolean lit;
     
-    public BlockCarvedPumpkin (PumpkinType type) {
+    public BlockCarvedPumpkin (int page, boolean lit) {
         
         super();
         this.setHardness(1.0F);
         this.setSoundType(SoundType.WOOD);
-        this.type = type;
+        this.setDefaultState(this.blockState.getBaseState().withProperty(FACING, EnumFacing.NORTH).withProperty(VARIANT, 0));
+        this.page = page;
+        this.lit = lit;
+        
+        if (lit) {
+            
+            this.setLightLevel(1f);
+        }
+    }
+    
+    public static String getName (int page, boolean lit) {
+        
+        return (lit ? "lit_carved_pumpkin_" : "carved_pumpkin_") + page;
+    }
+    
+    public int getPage () {
+        
+        return this.page;
+    }
+    
+    public boolean isLit () {
+        
+        return this.lit;
+    }
+    
+    /**
+     * Gets the carved type of a state of this block.
+     *
+     * @param state The state to get the type of.
+     * @return The type, or null if no type uses the variant of the state.
+     */
+    @Nullable
+    public PumpkinType getType (IBlockState state) {
+        
+        return PumpkinType.byPage(this.page, state.getValue(VARIANT));
+    }
+    
+    @Override
+    protected BlockStateContainer createBlockState () {
+        
+        return new BlockStateContainer(this, FACING, VARIANT);
+    }
+    
+    @Override
+    public IBlockState getStateFromMeta (int meta) {
+        
+        int variant = meta >> 2 & 3;
+        
+        // Only a broken or edited world can hold a variant without a type.
+        if (PumpkinType.byPage(this.page, variant) == null) {
+            
+            EerieEntities.LOG.warn("Found " + getName(this.page, this.lit) + " with variant " + variant + ", which has no pumpkin type. It was loaded as variant 0.");
+            variant = 0;
+        }
+        
+        return this.getDefaultState().withProperty(FACING, EnumFacing.byHorizontalIndex(meta & 3)).withProperty(VARIANT, variant);
+    }
+    
+    @Override
+    public int getMetaFromState (IBlockState state) {
+        
+        return state.getValue(VARIANT) << 2 | state.getValue(FACING).getHorizontalIndex();
+    }
+    
+    @Override
+    public int damageDropped (IBlockState state) {
+        
+        return state.getValue(VARIANT);
+    }
+    
+    @Override
+    public IBlockState getStateForPlacement (World worldIn, BlockPos pos, EnumFacing facing, float hitX, float hitY, float hitZ, int meta, EntityLivingBase placer) {
+        
+        return super.getStateForPlacement(worldIn, pos, facing, hitX, hitY, hitZ, meta, placer).withProperty(VARIANT, meta & 3);
+    }
+    
+    @Override
+    public void getSubBlocks (CreativeTabs tab, NonNullList<ItemStack> items) {
+        
+        for (final PumpkinType type : PumpkinType.values()) {
+            
+            if (type != PumpkinType.NORMAL && type.getPage() == this.page) {
+                
+                items.add(new ItemStack(this, 1, type.getVariant()));
+            }
+        }
     }
     
     public static enum PumpkinType {
@@ -29,6 +135,8 @@ public class BlockCarvedPumpkin extends BlockPumpkin {
         CYCLOPS,
         SURPRISED;
         
+        private static final PumpkinType[] VALUES = values();
+        
         private final ResourceLocation overlay;
         private Block normal;
         private Block lit;
@@ -45,7 +153,37 @@ public class BlockCarvedPumpkin extends BlockPumpkin {
             this.overlay = null;
         }
         
-        public void setItems (Block normal, Block lit) {
+        /**
+         * Gets a carved type from the block page it is in and its variant within that page. The
+         * last page can have variants left over, which have no type.
+         *
+         * @param page The page of the type.
+         * @param variant The variant of the type within the page.
+         * @return The carved type, or null if the variant has no type.
+         */
+        @Nullable
+        public static PumpkinType byPage (int page, int variant) {
+            
+            final int ordinal = 1 + page * TYPES_PER_BLOCK + variant;
+            return ordinal < VALUES.length ? VALUES[ordinal] : null;
+        }
+        
+        public static int getPageCount () {
+            
+            return (VALUES.length - 2) / TYPES_PER_BLOCK + 1;
+        }
+        
+        public int getPage () {
+            
+            return (this.ordinal() - 1) / TYPES_PER_BLOCK;
+        }
+        
+        public int getVariant () {
+            
+            return (this.ordinal() - 1) % TYPES_PER_BLOCK;
+        }
+        
+        public void setBlocks (Block normal, Block lit) {
             
             if (this != NORMAL) {
                 
@@ -64,9 +202,22 @@ public class BlockCarvedPumpkin extends BlockPumpkin {
             return this.lit;
         }
         
+        /**
+         * Gets the placed block state of this type.
+         *
+         * @param lit Whether or not to get the lit version.
+         * @param facing The direction the face should point.
+         * @return The block state of this type.
+         */
+        public IBlockState getState (boolean lit, EnumFacing facing) {
+            
+            final IBlockState state = (lit ? this.lit : this.normal).getDefaultState().withProperty(FACING, facing);
+            return this == NORMAL ? state : state.withProperty(VARIANT, this.getVariant());
+        }
+        
         public ResourceLocation getOverlayTexture () {
             
             return this.overlay;
         }
     }
-}
\ No newline at end of file
+}
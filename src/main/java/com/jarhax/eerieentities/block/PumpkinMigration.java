@@ -0,0 +1,228 @@
+package com.jarhax.eerieentities.block;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.block.BlockCarvedPumpkin.PumpkinType;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.datafix.FixTypes;
+import net.minecraft.util.datafix.IFixableData;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraftforge.common.util.Constants.NBT;
+import net.minecraftforge.common.util.ModFixs;
+import net.minecraftforge.event.RegistryEvent;
+import net.minecraftforge.event.RegistryEvent.MissingMappings.Mapping;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+
+/**
+ * Moves carved pumpkins from the old one block per type layout into the shared
+ * {@link BlockCarvedPumpkin} pages. Stored block ids can not be remapped to a new meta, so the
+ * numeric ids of the old blocks are recorded when the world's missing mappings are handled, and
+ * a chunk fixer rewrites them before the chunk is read. Item stacks are fixed by name.
+ */
+@EventBusSubscriber
+public class PumpkinMigration {
+    
+    /**
+     * The version of the mod's data fixes. Chunks and items saved with this version or later are
+     * not fixed again.
+     */
+    private static final int DATA_VERSION = 1;
+    
+    /**
+     * The old block and item names, mapped to the type they held and whether or not they were lit.
+     */
+    private static final Map<String, Legacy> LEGACY_NAMES = new HashMap<>();
+    
+    /**
+     * The numeric ids the old blocks had in the world being loaded.
+     */
+    private static Int2ObjectMap<Legacy> legacyIds = new Int2ObjectOpenHashMap<>();
+    
+    static {
+        
+        for (final PumpkinType type : PumpkinType.values()) {
+            
+            if (type != PumpkinType.NORMAL) {
+                
+                final String name = type.name().toLowerCase();
+                LEGACY_NAMES.put(EerieEntities.MODID + ":pumpkin_" + name, new Legacy(type, false));
+                LEGACY_NAMES.put(EerieEntities.MODID + ":pumpkin_lit_" + name, new Legacy(type, true));
+            }
+        }
+    }
+    
+    public static void registerFixes () {
+        
+        final ModFixs fixes = FMLCommonHandler.instance().getDataFixer().init(EerieEntities.MODID, DATA_VERSION);
+        fixes.registerFix(FixTypes.CHUNK, new ChunkFix());
+        fixes.registerFix(FixTypes.ITEM_INSTANCE, new ItemFix());
+    }
+    
+    public static void clearLegacyIds () {
+        
+        legacyIds = new Int2ObjectOpenHashMap<>();
+    }
+    
+    @SubscribeEvent
+    public static void onMissingBlocks (RegistryEvent.MissingMappings<Block> event) {
+        
+        for (final Mapping<Block> mapping : event.getAllMappings()) {
+            
+            final Legacy legacy = LEGACY_NAMES.get(mapping.key.toString());
+            
+            if (legacy != null) {
+                
+                legacyIds.put(mapping.id, legacy);
+                mapping.ignore();
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onMissingItems (RegistryEvent.MissingMappings<Item> event) {
+        
+        for (final Mapping<Item> mapping : event.getAllMappings()) {
+            
+            // Item stacks are saved by name, and are fixed by the item fixer.
+            if (LEGACY_NAMES.containsKey(mapping.key.toString())) {
+                
+                mapping.ignore();
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onDisconnect (FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        
+        clearLegacyIds();
+    }
+    
+    private static class Legacy {
+        
+        private final PumpkinType type;
+        private final boolean lit;
+        
+        private Legacy(PumpkinType type, boolean lit) {
+            
+            this.type = type;
+            this.lit = lit;
+        }
+        
+        private Block getBlock () {
+            
+            return this.lit ? this.type.getLit() : this.type.getNormal();
+        }
+    }
+    
+    private static class ChunkFix implements IFixableData {
+        
+        @Override
+        public int getFixVersion () {
+            
+            return DATA_VERSION;
+        }
+        
+        @Override
+        public NBTTagCompound fixTagCompound (NBTTagCompound compound) {
+            
+            final Int2ObjectMap<Legacy> ids = legacyIds;
+            
+            if (ids.isEmpty()) {
+                
+                return compound;
+            }
+            
+            final NBTTagList sections = compound.getCompoundTag("Level").getTagList("Sections", NBT.TAG_COMPOUND);
+            
+            for (int i = 0; i < sections.tagCount(); i++) {
+                
+                final NBTTagCompound section = sections.getCompoundTagAt(i);
+                final byte[] blocks = section.getByteArray("Blocks");
+                
+                if (blocks.length != 4096) {
+                    
+                    continue;
+                }
+                
+                NibbleArray add = section.hasKey("Add", NBT.TAG_BYTE_ARRAY) ? new NibbleArray(section.getByteArray("Add")) : null;
+                final NibbleArray data = new NibbleArray(section.getByteArray("Data"));
+                boolean changed = false;
+                
+                for (int index = 0; index < blocks.length; index++) {
+                    
+                    final int x = index & 15;
+                    final int y = index >> 8 & 15;
+                    final int z = index >> 4 & 15;
+                    final Legacy legacy = ids.get((add != null ? add.get(x, y, z) << 8 : 0) | blocks[index] & 0xFF);
+                    
+                    if (legacy != null) {
+                        
+                        final int id = Block.getIdFromBlock(legacy.getBlock());
+                        blocks[index] = (byte) id;
+                        
+                        if (add == null && id > 255) {
+                            
+                            add = new NibbleArray();
+                        }
+                        
+                        if (add != null) {
+                            
+                            add.set(x, y, z, id >> 8 & 15);
+                        }
+                        
+                        // The old blocks only stored the facing in their meta.
+                        data.set(x, y, z, legacy.type.getVariant() << 2 | data.get(x, y, z) & 3);
+                        changed = true;
+                    }
+                }
+                
+                if (changed) {
+                    
+                    section.setByteArray("Blocks", blocks);
+                    section.setByteArray("Data", data.getData());
+                    
+                    if (add != null) {
+                        
+                        section.setByteArray("Add", add.getData());
+                    }
+                }
+            }
+            
+            return compound;
+        }
+    }
+    
+    private static class ItemFix implements IFixableData {
+        
+        @Override
+        public int getFixVersion () {
+            
+            return DATA_VERSION;
+        }
+        
+        @Override
+        public NBTTagCompound fixTagCompound (NBTTagCompound compound) {
+            
+            final Legacy legacy = LEGACY_NAMES.get(compound.getString("id"));
+            
+            if (legacy != null) {
+                
+                compound.setString("id", EerieEntities.MODID + ":" + BlockCarvedPumpkin.getName(legacy.type.getPage(), legacy.lit));
+                compound.setShort("Damage", (short) legacy.type.getVariant());
+            }
+            
+            return compound;
+        }
+    }
+}
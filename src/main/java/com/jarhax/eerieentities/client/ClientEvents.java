@@ -1,13 +1,28 @@
 package com.jarhax.eerieentities.client;
 
+import java.util.Map;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.block.BlockCarvedPumpkin;
+import com.jarhax.eerieentities.block.BlockCarvedPumpkin.PumpkinType;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiScreen;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.client.renderer.block.statemap.DefaultStateMapper;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.item.Item;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.event.ModelRegistryEvent;
+import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
@@ -33,10 +48,20 @@ public class ClientEvents {
         }
         else {
             this.calcDelta();
+            RenderProfiler.endFrame();
         }
         
     }
     
+    @SubscribeEvent
+    public void onOverlayText (RenderGameOverlayEvent.Text event) {
+        
+        if (RenderProfiler.isOverlayShown()) {
+            
+            event.getLeft().addAll(RenderProfiler.getOverlayLines());
+        }
+    }
+    
     @SubscribeEvent
     public void clientTickEnd (TickEvent.ClientTickEvent event) {
         
@@ -52,6 +77,27 @@ public class ClientEvents {
         }
     }
     
+    @SubscribeEvent
+    public void onModelRegistry (ModelRegistryEvent event) {
+        
+        // Pumpkin items share a block, so each variant points at its own item model.
+        for (final PumpkinType type : PumpkinType.values()) {
+            
+            if (type != PumpkinType.NORMAL) {
+                
+                final String name = type.name().toLowerCase();
+                ModelLoader.setCustomModelResourceLocation(Item.getItemFromBlock(type.getNormal()), type.getVariant(), new ModelResourceLocation(EerieEntities.MODID + ":pumpkin_" + name, "inventory"));
+                ModelLoader.setCustomModelResourceLocation(Item.getItemFromBlock(type.getLit()), type.getVariant(), new ModelResourceLocation(EerieEntities.MODID + ":pumpkin_lit_" + name, "inventory"));
+                
+                if (type.getVariant() == 0) {
+                    
+                    ModelLoader.setCustomStateMapper(type.getNormal(), new PumpkinStateMapper());
+                    ModelLoader.setCustomStateMapper(type.getLit(), new PumpkinStateMapper());
+                }
+            }
+        }
+    }
+    
     public static void renderPumpkinOverlay (ScaledResolution scaledRes, ResourceLocation res) {
         
         GlStateManager.disableDepth();
@@ -73,4 +119,19 @@ public class ClientEvents {
         GlStateManager.enableAlpha();
         GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
     }
+    
+    /**
+     * Maps the pumpkin blocks to their blockstate files, leaving out the variants which have no
+     * type. Those are never placed, so no model is loaded for them.
+     */
+    private static class PumpkinStateMapper extends DefaultStateMapper {
+        
+        @Override
+        public Map<IBlockState, ModelResourceLocation> putStateModelLocations (Block block) {
+            
+            final Map<IBlockState, ModelResourceLocation> locations = super.putStateModelLocations(block);
+            locations.keySet().removeIf(state -> ((BlockCarvedPumpkin) block).getType(state) == null);
+            return locations;
+        }
+    }
 }
@@ -10,6 +10,7 @@ import org.lwjgl.opengl.ARBVertexShader;
 import org.lwjgl.opengl.GL11;
 
 import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.OpenGlHelper;
@@ -36,6 +37,7 @@ public class ShaderHandler {
             return;
         }
         
+        RenderStats.countShader();
         ARBShaderObjects.glUseProgramObjectARB(shader);
         
         if (shader != 0) {
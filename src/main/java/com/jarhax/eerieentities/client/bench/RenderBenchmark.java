@@ -0,0 +1,504 @@
+package com.jarhax.eerieentities.client.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.lwjgl.opengl.Display;
+import org.lwjgl.opengl.GL11;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.entities.EntityCursedArmor;
+import com.jarhax.eerieentities.entities.EntityNetherKnight;
+import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
+import com.jarhax.eerieentities.entities.EntityWisp;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiMainMenu;
+import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.entity.Render;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.server.integrated.IntegratedServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.GameType;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Runs a render benchmark on a client started with the eerieentities.renderbench system
+ * property, which points to a scenario file. The runClient Gradle task sets this up when given
+ * -PrenderBench=&lt;scenario&gt;, and forces the game onto Mesa's llvmpipe software renderer. A
+ * fresh flat world is created from the main menu, and a fixed scene of each mob is placed in
+ * front of a player which never moves. The scene is not part of the world, each renderer draws
+ * its own mobs after the world is drawn so it can be timed on its own. The scenario is a
+ * properties file with these keys:
+ *
+ * <ul>
+ * <li>name - The name of the run, used for the report file.</li>
+ * <li>frames - The amount of frames to measure.</li>
+ * <li>warmup - The amount of frames to draw before measuring.</li>
+ * <li>settle - The amount of ticks to wait for the world to load before building the scene.</li>
+ * <li>seed - The seed used to pick the types of the mobs.</li>
+ * <li>finish - Whether or not to wait for GL to finish after each renderer, which includes the
+ * rasterizing in its time. On llvmpipe that work is done by the CPU as well.</li>
+ * <li>&lt;mob name&gt; - The amount of a mob to draw, for example will_o_wisp=200.</li>
+ * </ul>
+ *
+ * When the run is done a JSON report is written to eerieentities/renderbench and the game is
+ * closed. The draw, bind, shader and state counts come from {@link RenderStats}, so they only
+ * include the GL work the mod issues itself.
+ */
+@SideOnly(Side.CLIENT)
+public class RenderBenchmark {
+    
+    public static final String PROPERTY = "eerieentities.renderbench";
+    
+    private static final String WORLD = "eerie_renderbench";
+    private static final int COLUMNS = 16;
+    private static final double SPACING = 1.5d;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    
+    private final Minecraft mc = Minecraft.getMinecraft();
+    private final Properties scenario;
+    private final int frames;
+    private final int warmup;
+    private final int settle;
+    private final boolean finish;
+    private final long[] frameNanos;
+    private final List<Group> groups = new ArrayList<>();
+    
+    private boolean launched;
+    private boolean ready;
+    private int waited;
+    private int frame;
+    private int measuredFrame = -1;
+    private long frameStart;
+    private double playerX;
+    private double playerY;
+    private double playerZ;
+    
+    private RenderBenchmark(Properties scenario) {
+        
+        this.scenario = scenario;
+        this.frames = Math.max(Integer.parseInt(scenario.getProperty("frames", "1200")), 1);
+        this.warmup = Math.max(Integer.parseInt(scenario.getProperty("warmup", "200")), 0);
+        this.settle = Math.max(Integer.parseInt(scenario.getProperty("settle", "100")), 1);
+        this.finish = Boolean.parseBoolean(scenario.getProperty("finish", "true"));
+        this.frameNanos = new long[this.frames];
+    }
+    
+    /**
+     * Starts listening for the main menu if the game was started with a scenario.
+     */
+    public static void init () {
+        
+        final String path = System.getProperty(PROPERTY);
+        
+        if (path == null) {
+            
+            return;
+        }
+        
+        final Properties scenario = new Properties();
+        
+        try (Reader reader = Files.newBufferedReader(new File(path).toPath(), StandardCharsets.UTF_8)) {
+            
+            scenario.load(reader);
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.error("Could not read the render benchmark scenario " + path + ". " + e.getMessage());
+            return;
+        }
+        
+        MinecraftForge.EVENT_BUS.register(new RenderBenchmark(scenario));
+    }
+    
+    private void launch () {
+        
+        this.launched = true;
+        this.mc.getSaveLoader().deleteWorldDirectory(WORLD);
+        this.mc.launchIntegratedServer(WORLD, "Eerie Render Benchmark", new WorldSettings(0L, GameType.CREATIVE, false, false, WorldType.FLAT));
+    }
+    
+    private void setup () {
+        
+        final IntegratedServer server = this.mc.getIntegratedServer();
+        
+        if (server != null) {
+            
+            server.addScheduledTask( () -> {
+                
+                final WorldServer world = server.getWorld(0);
+                final GameRules rules = world.getGameRules();
+                rules.setOrCreateGameRule("doDaylightCycle", "false");
+                rules.setOrCreateGameRule("doWeatherCycle", "false");
+                rules.setOrCreateGameRule("doMobSpawning", "false");
+                world.setWorldTime(6000L);
+                world.getWorldInfo().setRaining(false);
+                world.getWorldInfo().setThundering(false);
+            });
+        }
+        
+        // The window may lose focus on a build machine, and the HUD is not part of the scene.
+        this.mc.gameSettings.pauseOnLostFocus = false;
+        this.mc.gameSettings.hideGUI = true;
+        this.mc.gameSettings.limitFramerate = 260;
+        this.mc.gameSettings.enableVsync = false;
+        Display.setVSyncEnabled(false);
+        
+        final BlockPos ground = this.mc.world.getHeight(this.mc.world.getSpawnPoint());
+        this.playerX = ground.getX() + 0.5d;
+        this.playerY = ground.getY() + 2d;
+        this.playerZ = ground.getZ() + 0.5d;
+        this.mc.player.capabilities.isFlying = true;
+        
+        final Random random = new Random(Long.parseLong(this.scenario.getProperty("seed", "0")));
+        int row = 0;
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            final int count = Integer.parseInt(this.scenario.getProperty(config.getName(), "0"));
+            
+            if (count <= 0) {
+                
+                continue;
+            }
+            
+            final Group group = new Group(config, count, this.frames);
+            
+            for (int index = 0; index < count; index++) {
+                
+                final Entity entity = EntityList.newEntity(config.getEntityClass(), this.mc.world);
+                final double x = this.playerX + (index % COLUMNS - (COLUMNS - 1) / 2d) * SPACING;
+                final double z = this.playerZ - 4d - (row + index / COLUMNS) * SPACING;
+                
+                // The mobs face the player, which looks north.
+                entity.setLocationAndAngles(x, ground.getY(), z, 0f, 0f);
+                pickType(entity, random);
+                
+                if (entity instanceof EntityLivingBase) {
+                    
+                    final EntityLivingBase living = (EntityLivingBase) entity;
+                    living.renderYawOffset = living.prevRenderYawOffset = 0f;
+                    living.rotationYawHead = living.prevRotationYawHead = 0f;
+                }
+                
+                group.entities.add(entity);
+            }
+            
+            row += (count + COLUMNS - 1) / COLUMNS + 1;
+            this.groups.add(group);
+        }
+        
+        this.placePlayer();
+        this.ready = true;
+        EerieEntities.LOG.info("Started render benchmark " + this.scenario.getProperty("name", "renderbench") + " for " + this.frames + " frames.");
+    }
+    
+    private static void pickType (Entity entity, Random random) {
+        
+        if (entity instanceof EntityWisp) {
+            
+            ((EntityWisp) entity).setType(Config.wisp.getTypeTable().nextIndex(random));
+        }
+        
+        else if (entity instanceof EntityNetherKnight) {
+            
+            ((EntityNetherKnight) entity).setRuneWord(Config.netherKnight.getRuneWordTable().nextIndex(random));
+        }
+        
+        else if (entity instanceof EntityPumpkinSlime) {
+            
+            ((EntityPumpkinSlime) entity).setType(Config.pumpkinSlime.getFaceTable().nextIndex(random));
+        }
+        
+        else if (entity instanceof EntityCursedArmor) {
+            
+            ((EntityCursedArmor) entity).setArmorSet(Config.cursedArmor.getArmorSetTable().nextIndex(random));
+        }
+    }
+    
+    private void placePlayer () {
+        
+        this.mc.player.setLocationAndAngles(this.playerX, this.playerY, this.playerZ, 180f, 20f);
+        this.mc.player.motionX = 0d;
+        this.mc.player.motionY = 0d;
+        this.mc.player.motionZ = 0d;
+    }
+    
+    private void render (float partialTicks) {
+        
+        this.measuredFrame = this.frame >= this.warmup ? this.frame - this.warmup : -1;
+        
+        // Anything still queued from the world should not be counted against the first renderer.
+        if (this.finish) {
+            
+            GL11.glFinish();
+        }
+        
+        RenderHelper.enableStandardItemLighting();
+        this.mc.entityRenderer.enableLightmap();
+        
+        for (final Group group : this.groups) {
+            
+            final long draws = RenderStats.getDraws();
+            final long binds = RenderStats.getBinds();
+            final long shaders = RenderStats.getShaders();
+            final long stateCalls = RenderStats.getStateCalls();
+            final long start = System.nanoTime();
+            
+            for (final Entity entity : group.entities) {
+                
+                this.mc.getRenderManager().renderEntityStatic(entity, partialTicks, false);
+            }
+            
+            final long submitted = System.nanoTime();
+            
+            if (this.finish) {
+                
+                GL11.glFinish();
+            }
+            
+            final long end = System.nanoTime();
+            
+            if (this.measuredFrame >= 0) {
+                
+                group.submitNanos[this.measuredFrame] = submitted - start;
+                group.totalNanos[this.measuredFrame] = end - start;
+                group.draws += RenderStats.getDraws() - draws;
+                group.binds += RenderStats.getBinds() - binds;
+                group.shaders += RenderStats.getShaders() - shaders;
+                group.stateCalls += RenderStats.getStateCalls() - stateCalls;
+            }
+        }
+        
+        this.mc.entityRenderer.disableLightmap();
+        RenderHelper.disableStandardItemLighting();
+        this.frame++;
+    }
+    
+    private void finish () {
+        
+        this.ready = false;
+        MinecraftForge.EVENT_BUS.unregister(this);
+        
+        final JsonObject report = new JsonObject();
+        final JsonObject scenario = new JsonObject();
+        
+        for (final String key : this.scenario.stringPropertyNames()) {
+            
+            scenario.addProperty(key, this.scenario.getProperty(key));
+        }
+        
+        report.add("scenario", scenario);
+        report.addProperty("version", EerieEntities.class.getPackage().getImplementationVersion());
+        report.addProperty("java", System.getProperty("java.version"));
+        report.addProperty("gl_vendor", GL11.glGetString(GL11.GL_VENDOR));
+        report.addProperty("gl_renderer", GL11.glGetString(GL11.GL_RENDERER));
+        report.addProperty("gl_version", GL11.glGetString(GL11.GL_VERSION));
+        report.addProperty("width", this.mc.displayWidth);
+        report.addProperty("height", this.mc.displayHeight);
+        report.addProperty("frames", this.frames);
+        
+        final JsonObject frameTime = getTimes(this.frameNanos);
+        frameTime.addProperty("fps", 1.0e3 / frameTime.get("mean_ms").getAsDouble());
+        report.add("frame_time", frameTime);
+        
+        final JsonObject renderers = new JsonObject();
+        
+        for (final Group group : this.groups) {
+            
+            final Render<Entity> render = this.mc.getRenderManager().getEntityRenderObject(group.entities.get(0));
+            final JsonObject renderer = new JsonObject();
+            renderer.addProperty("renderer", render != null ? render.getClass().getSimpleName() : "none");
+            renderer.addProperty("entities", group.entities.size());
+            renderer.add("submit_time", getTimes(group.submitNanos));
+            renderer.add("total_time", getTimes(group.totalNanos));
+            renderer.addProperty("total_us_per_entity", getMean(group.totalNanos) / 1.0e3 / group.entities.size());
+            renderer.addProperty("draws_per_frame", group.draws / (double) this.frames);
+            renderer.addProperty("binds_per_frame", group.binds / (double) this.frames);
+            renderer.addProperty("shaders_per_frame", group.shaders / (double) this.frames);
+            renderer.addProperty("state_calls_per_frame", group.stateCalls / (double) this.frames);
+            renderers.add(group.config.getName(), renderer);
+        }
+        
+        report.add("renderers", renderers);
+        
+        final File directory = EerieEntities.getOutputDirectory(this.mc.gameDir, "renderbench");
+        final File file = new File(directory, this.scenario.getProperty("name", "renderbench") + "-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+        
+        try {
+            
+            if (!directory.exists() && !directory.mkdirs()) {
+                
+                throw new IOException("Could not create " + directory);
+            }
+            
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                
+                GSON.toJson(report, writer);
+            }
+            
+            EerieEntities.LOG.info("Finished render benchmark, wrote the report to " + file.getPath());
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.error("Could not write the render benchmark report. " + e.getMessage());
+        }
+        
+        this.mc.shutdown();
+    }
+    
+    private static JsonObject getTimes (long[] nanos) {
+        
+        final long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        
+        final JsonObject times = new JsonObject();
+        times.addProperty("mean_ms", getMean(sorted) / 1.0e6);
+        times.addProperty("p50_ms", getPercentile(sorted, 0.5) / 1.0e6);
+        times.addProperty("p95_ms", getPercentile(sorted, 0.95) / 1.0e6);
+        times.addProperty("p99_ms", getPercentile(sorted, 0.99) / 1.0e6);
+        times.addProperty("max_ms", sorted[sorted.length - 1] / 1.0e6);
+        return times;
+    }
+    
+    private static double getMean (long[] nanos) {
+        
+        long total = 0;
+        
+        for (final long value : nanos) {
+            
+            total += value;
+        }
+        
+        return total / (double) nanos.length;
+    }
+    
+    private static long getPercentile (long[] sorted, double percentile) {
+        
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+    
+    @SubscribeEvent
+    public void onClientTick (TickEvent.ClientTickEvent event) {
+        
+        if (event.phase != TickEvent.Phase.END) {
+            
+            return;
+        }
+        
+        if (!this.launched) {
+            
+            if (this.mc.currentScreen instanceof GuiMainMenu) {
+                
+                this.launch();
+            }
+        }
+        
+        else if (this.mc.world != null && this.mc.player != null) {
+            
+            if (this.ready) {
+                
+                this.placePlayer();
+                
+                // The scene is not in the world, so only the age used by the animations is ticked.
+                for (final Group group : this.groups) {
+                    
+                    for (final Entity entity : group.entities) {
+                        
+                        entity.ticksExisted++;
+                    }
+                }
+            }
+            
+            else if (++this.waited == this.settle) {
+                
+                this.setup();
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public void onRenderTick (TickEvent.RenderTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.START && this.ready) {
+            
+            final long now = System.nanoTime();
+            
+            if (this.measuredFrame >= 0) {
+                
+                this.frameNanos[this.measuredFrame] = now - this.frameStart;
+                this.measuredFrame = -1;
+            }
+            
+            this.frameStart = now;
+            
+            if (this.frame >= this.warmup + this.frames) {
+                
+                this.finish();
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public void onRenderWorldLast (RenderWorldLastEvent event) {
+        
+        if (this.ready) {
+            
+            this.render(event.getPartialTicks());
+        }
+    }
+    
+    /**
+     * The mobs drawn by one renderer, and what it took to draw them.
+     */
+    private static class Group {
+        
+        private final MobConfig config;
+        private final List<Entity> entities;
+        private final long[] submitNanos;
+        private final long[] totalNanos;
+        private long draws;
+        private long binds;
+        private long shaders;
+        private long stateCalls;
+        
+        private Group(MobConfig config, int count, int frames) {
+            
+            this.config = config;
+            this.entities = new ArrayList<>(count);
+            this.submitNanos = new long[frames];
+            this.totalNanos = new long[frames];
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.jarhax.eerieentities.client.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * A client side command which controls the {@link RenderProfiler}. It only measures the local
+ * game, so it can be used on any server.
+ */
+@SideOnly(Side.CLIENT)
+public class CommandRenderProfile extends CommandBase {
+    
+    @Override
+    public String getName () {
+        
+        return "eerierender";
+    }
+    
+    @Override
+    public int getRequiredPermissionLevel () {
+        
+        return 0;
+    }
+    
+    @Override
+    public boolean checkPermission (MinecraftServer server, ICommandSender sender) {
+        
+        return true;
+    }
+    
+    @Override
+    public String getUsage (ICommandSender sender) {
+        
+        return "commands.eerierender.usage";
+    }
+    
+    @Override
+    public void execute (MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        
+        if (args.length != 1) {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+        
+        if ("start".equals(args[0])) {
+            
+            RenderProfiler.enable();
+            sender.sendMessage(new TextComponentTranslation("commands.eerierender.start"));
+        }
+        
+        else if ("stop".equals(args[0])) {
+            
+            if (!RenderProfiler.isEnabled()) {
+                
+                throw new CommandException("commands.eerierender.notRunning");
+            }
+            
+            RenderProfiler.disable();
+            sender.sendMessage(new TextComponentTranslation("commands.eerierender.stop"));
+        }
+        
+        else if ("overlay".equals(args[0])) {
+            
+            RenderProfiler.setOverlayShown(!RenderProfiler.isOverlayShown());
+            sender.sendMessage(new TextComponentTranslation(RenderProfiler.isOverlayShown() ? "commands.eerierender.overlay.shown" : "commands.eerierender.overlay.hidden"));
+        }
+        
+        else if ("dump".equals(args[0])) {
+            
+            try {
+                
+                final File file = RenderProfiler.dump(EerieEntities.getOutputDirectory(Minecraft.getMinecraft().gameDir, "profiles"));
+                sender.sendMessage(new TextComponentTranslation("commands.eerierender.dump", file.getName()));
+            }
+            
+            catch (final IOException e) {
+                
+                EerieEntities.LOG.catching(e);
+                throw new CommandException("commands.eerierender.failed", e.getMessage());
+            }
+        }
+        
+        else {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+    }
+    
+    @Override
+    public List<String> getTabCompletions (MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        
+        return args.length == 1 ? getListOfStringsMatchingLastWord(args, "start", "stop", "overlay", "dump") : Collections.emptyList();
+    }
+}
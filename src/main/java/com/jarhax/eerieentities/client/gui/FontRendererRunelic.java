@@ -3,6 +3,7 @@ package com.jarhax.eerieentities.client.gui;
 import org.lwjgl.opengl.GL11;
 
 import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
@@ -35,6 +36,7 @@ public class FontRendererRunelic extends FontRenderer {
         else {
             
             this.bindTexture(this.locationFontTexture);
+            RenderStats.countBind();
             
             final float drawLength = (runeWidth & 15) + 1;
             final float runeX = ch % 16 * 16;
@@ -60,6 +62,7 @@ public class FontRendererRunelic extends FontRenderer {
             GlStateManager.glVertex3f(this.posX + drawLength / 2.0F - horizontalOffset, this.posY + 8F, 0.0F);
             
             GlStateManager.glEnd();
+            RenderStats.countDraw();
             return drawLength / 2.0F + 1.0F;
         }
     }
@@ -1,5 +1,7 @@
 package com.jarhax.eerieentities.client.model;
 
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+
 import net.minecraft.client.model.ModelBase;
 import net.minecraft.client.model.ModelRenderer;
 import net.minecraft.client.renderer.GlStateManager;
@@ -24,5 +26,6 @@ public class ModelCube extends ModelBase {
         this.setRotationAngles(limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch, scale, entityIn);
         GlStateManager.translate(0.0F, 1.0F, 0.0F);
         this.body.render(scale);
+        RenderStats.countDraw();
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.jarhax.eerieentities.client.model;
 
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+
 import net.minecraft.client.model.ModelBase;
 import net.minecraft.client.model.ModelRenderer;
 
@@ -19,5 +21,6 @@ public class ModelKnightShield extends ModelBase {
     public void render (float scale) {
         
         this.shield.render(scale);
+        RenderStats.countDraw();
     }
 }
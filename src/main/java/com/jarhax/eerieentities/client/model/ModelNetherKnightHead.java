@@ -1,5 +1,7 @@
 package com.jarhax.eerieentities.client.model;
 
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+
 import net.minecraft.client.model.ModelBase;
 import net.minecraft.client.model.ModelRenderer;
 
@@ -25,6 +27,8 @@ public class ModelNetherKnightHead extends ModelBase {
     public void render (float scale) {
         
         this.helm.render(scale);
+        RenderStats.countDraw();
         this.head.render(scale);
+        RenderStats.countDraw();
     }
 }
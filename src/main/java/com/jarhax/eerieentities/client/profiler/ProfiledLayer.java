@@ -0,0 +1,39 @@
+package com.jarhax.eerieentities.client.profiler;
+
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+
+import net.minecraft.client.renderer.entity.layers.LayerRenderer;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Times a layer of a renderer with the {@link RenderProfiler}, including vanilla layers which can
+ * not be changed to time themselves.
+ */
+@SideOnly(Side.CLIENT)
+public class ProfiledLayer<T extends EntityLivingBase> implements LayerRenderer<T> {
+    
+    private final LayerRenderer<T> layer;
+    private final Timer timer;
+    
+    public ProfiledLayer(LayerRenderer<T> layer, String mob, String part) {
+        
+        this.layer = layer;
+        this.timer = RenderProfiler.getTimer(mob, part);
+    }
+    
+    @Override
+    public void doRenderLayer (T entity, float limbSwing, float limbSwingAmount, float partialTicks, float ageInTicks, float netHeadYaw, float headPitch, float scale) {
+        
+        final long start = this.timer.start();
+        this.layer.doRenderLayer(entity, limbSwing, limbSwingAmount, partialTicks, ageInTicks, netHeadYaw, headPitch, scale);
+        this.timer.stop(start);
+    }
+    
+    @Override
+    public boolean shouldCombineTextures () {
+        
+        return this.layer.shouldCombineTextures();
+    }
+}
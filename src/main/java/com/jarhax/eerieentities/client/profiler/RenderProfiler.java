@@ -0,0 +1,335 @@
+package com.jarhax.eerieentities.client.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.profiler.Histogram;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Times the mod's renderers and their layers on the client, and counts the GL work from
+ * {@link RenderStats} they do. Every renderer and layer owns a {@link Timer}, which adds up its
+ * time over a frame. At the end of each frame those totals are recorded, so the percentiles are
+ * of the time spent per frame rather than per mob. While the profiler is stopped
+ * {@link Timer#start()} returns {@link #DISABLED} without reading the clock.
+ */
+@SideOnly(Side.CLIENT)
+public class RenderProfiler {
+    
+    public static final long DISABLED = Long.MIN_VALUE;
+    
+    /**
+     * How often the averages shown in the overlay are updated.
+     */
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final List<Timer> TIMERS = new ArrayList<>();
+    private static final List<String> OVERLAY_LINES = new ArrayList<>();
+    
+    private static boolean enabled;
+    private static boolean overlay;
+    private static long startedAt;
+    private static long stoppedAt;
+    private static long frames;
+    private static long windowStart;
+    private static int windowFrames;
+    
+    /**
+     * Gets the timer of part of a mob's rendering. Timers are created by the renderers, so each
+     * part should only be asked for once.
+     *
+     * @param mob The name of the mob.
+     * @param part The name of the renderer or layer.
+     * @return The timer of that part.
+     */
+    public static Timer getTimer (String mob, String part) {
+        
+        for (final Timer timer : TIMERS) {
+            
+            if (timer.mob.equals(mob) && timer.part.equals(part)) {
+                
+                return timer;
+            }
+        }
+        
+        final Timer timer = new Timer(mob, part);
+        TIMERS.add(timer);
+        return timer;
+    }
+    
+    public static boolean isEnabled () {
+        
+        return enabled;
+    }
+    
+    public static boolean isOverlayShown () {
+        
+        return overlay;
+    }
+    
+    /**
+     * Starts a new profile. Anything recorded by an earlier profile is discarded.
+     */
+    public static void enable () {
+        
+        for (final Timer timer : TIMERS) {
+            
+            timer.reset();
+        }
+        
+        OVERLAY_LINES.clear();
+        frames = 0;
+        windowFrames = 0;
+        windowStart = System.nanoTime();
+        startedAt = System.currentTimeMillis();
+        stoppedAt = 0;
+        enabled = true;
+    }
+    
+    public static void disable () {
+        
+        if (enabled) {
+            
+            enabled = false;
+            stoppedAt = System.currentTimeMillis();
+        }
+    }
+    
+    public static void setOverlayShown (boolean shown) {
+        
+        overlay = shown;
+    }
+    
+    /**
+     * Records the time of every part in the frame that just finished. This is called at the end
+     * of each render tick.
+     */
+    public static void endFrame () {
+        
+        if (!enabled) {
+            
+            return;
+        }
+        
+        frames++;
+        windowFrames++;
+        
+        for (final Timer timer : TIMERS) {
+            
+            timer.endFrame();
+        }
+        
+        final long now = System.nanoTime();
+        
+        if (now - windowStart >= WINDOW_NANOS) {
+            
+            updateOverlay();
+            windowStart = now;
+            windowFrames = 0;
+        }
+    }
+    
+    private static void updateOverlay () {
+        
+        OVERLAY_LINES.clear();
+        OVERLAY_LINES.add("Eerie render profiler, per frame over " + windowFrames + " frames:");
+        
+        for (final Timer timer : TIMERS) {
+            
+            if (timer.windowCalls > 0) {
+                
+                final double perFrame = windowFrames;
+                OVERLAY_LINES.add(String.format("%s %s: %.3f ms, %.1f calls, %.1f draws, %.1f binds, %.1f shaders", timer.mob, timer.part, timer.windowNanos / perFrame / 1.0e6, timer.windowCalls / perFrame, timer.windowDraws / perFrame, timer.windowBinds / perFrame, timer.windowShaders / perFrame));
+            }
+            
+            timer.windowNanos = 0;
+            timer.windowCalls = 0;
+            timer.windowDraws = 0;
+            timer.windowBinds = 0;
+            timer.windowShaders = 0;
+        }
+    }
+    
+    /**
+     * Gets the lines shown in the overlay, which are updated once a second.
+     */
+    public static List<String> getOverlayLines () {
+        
+        return OVERLAY_LINES;
+    }
+    
+    /**
+     * Writes the current profile as JSON and CSV files.
+     *
+     * @param directory The directory to write the files to.
+     * @return The JSON file that was written.
+     * @throws IOException If the files could not be written.
+     */
+    public static File dump (File directory) throws IOException {
+        
+        final String name = "render-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        final JsonObject root = new JsonObject();
+        final JsonObject mobs = new JsonObject();
+        final StringBuilder csv = new StringBuilder("mob,part,frames,calls,total_ns,mean_frame_ns,p50_frame_ns,p99_frame_ns,max_frame_ns,draws,binds,shaders,state_calls\n");
+        
+        root.addProperty("started", startedAt);
+        root.addProperty("duration_ms", (stoppedAt != 0 ? stoppedAt : System.currentTimeMillis()) - startedAt);
+        root.addProperty("running", enabled);
+        root.addProperty("frames", frames);
+        
+        for (final Timer timer : TIMERS) {
+            
+            final Histogram histogram = timer.histogram;
+            final long mean = histogram.getCount() > 0 ? histogram.getTotal() / histogram.getCount() : 0;
+            final JsonObject entry = new JsonObject();
+            entry.addProperty("frames", histogram.getCount());
+            entry.addProperty("calls", timer.calls);
+            entry.addProperty("total_ns", histogram.getTotal());
+            entry.addProperty("mean_frame_ns", mean);
+            entry.addProperty("p50_frame_ns", histogram.getPercentile(0.5));
+            entry.addProperty("p99_frame_ns", histogram.getPercentile(0.99));
+            entry.addProperty("max_frame_ns", histogram.getMax());
+            entry.addProperty("draws", timer.draws);
+            entry.addProperty("binds", timer.binds);
+            entry.addProperty("shaders", timer.shaders);
+            entry.addProperty("state_calls", timer.stateCalls);
+            
+            if (!mobs.has(timer.mob)) {
+                
+                mobs.add(timer.mob, new JsonObject());
+            }
+            
+            mobs.getAsJsonObject(timer.mob).add(timer.part, entry);
+            csv.append(timer.mob).append(',').append(timer.part).append(',').append(histogram.getCount()).append(',').append(timer.calls).append(',').append(histogram.getTotal()).append(',').append(mean).append(',').append(histogram.getPercentile(0.5)).append(',').append(histogram.getPercentile(0.99)).append(',').append(histogram.getMax()).append(',').append(timer.draws).append(',').append(timer.binds).append(',').append(timer.shaders).append(',').append(timer.stateCalls).append('\n');
+        }
+        
+        root.add("mobs", mobs);
+        
+        if (!directory.exists() && !directory.mkdirs()) {
+            
+            throw new IOException("Could not create " + directory);
+        }
+        
+        final File json = new File(directory, name + ".json");
+        
+        try (Writer writer = Files.newBufferedWriter(json.toPath(), StandardCharsets.UTF_8)) {
+            
+            GSON.toJson(root, writer);
+        }
+        
+        Files.write(new File(directory, name + ".csv").toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+        return json;
+    }
+    
+    /**
+     * Times one renderer or layer. A part never renders inside itself, so the counts it starts
+     * from are kept here instead of being passed around.
+     */
+    public static class Timer {
+        
+        private final String mob;
+        private final String part;
+        private Histogram histogram = new Histogram();
+        
+        private long startDraws;
+        private long startBinds;
+        private long startShaders;
+        private long startStateCalls;
+        
+        private long frameNanos;
+        private long frameCalls;
+        private long windowNanos;
+        private long windowCalls;
+        private long windowDraws;
+        private long windowBinds;
+        private long windowShaders;
+        
+        private long calls;
+        private long draws;
+        private long binds;
+        private long shaders;
+        private long stateCalls;
+        
+        private Timer(String mob, String part) {
+            
+            this.mob = mob;
+            this.part = part;
+        }
+        
+        public long start () {
+            
+            if (!enabled) {
+                
+                return DISABLED;
+            }
+            
+            this.startDraws = RenderStats.getDraws();
+            this.startBinds = RenderStats.getBinds();
+            this.startShaders = RenderStats.getShaders();
+            this.startStateCalls = RenderStats.getStateCalls();
+            return System.nanoTime();
+        }
+        
+        public void stop (long start) {
+            
+            if (start != DISABLED && enabled) {
+                
+                final long draws = RenderStats.getDraws() - this.startDraws;
+                final long binds = RenderStats.getBinds() - this.startBinds;
+                final long shaders = RenderStats.getShaders() - this.startShaders;
+                this.frameNanos += System.nanoTime() - start;
+                this.frameCalls++;
+                this.windowDraws += draws;
+                this.windowBinds += binds;
+                this.windowShaders += shaders;
+                this.draws += draws;
+                this.binds += binds;
+                this.shaders += shaders;
+                this.stateCalls += RenderStats.getStateCalls() - this.startStateCalls;
+            }
+        }
+        
+        private void endFrame () {
+            
+            if (this.frameCalls > 0) {
+                
+                this.histogram.record(this.frameNanos);
+                this.calls += this.frameCalls;
+                this.windowNanos += this.frameNanos;
+                this.windowCalls += this.frameCalls;
+                this.frameNanos = 0;
+                this.frameCalls = 0;
+            }
+        }
+        
+        private void reset () {
+            
+            this.histogram = new Histogram();
+            this.frameNanos = 0;
+            this.frameCalls = 0;
+            this.windowNanos = 0;
+            this.windowCalls = 0;
+            this.windowDraws = 0;
+            this.windowBinds = 0;
+            this.windowShaders = 0;
+            this.calls = 0;
+            this.draws = 0;
+            this.binds = 0;
+            this.shaders = 0;
+            this.stateCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.jarhax.eerieentities.client.profiler;
+
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.GlStateManager.DestFactor;
+import net.minecraft.client.renderer.GlStateManager.SourceFactor;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Counts the GL work issued by the mod's own renderers, models and fonts. The counts only ever go
+ * up, so anything measuring them reads them before and after the work it is interested in. GL
+ * calls made by vanilla code, such as the armor and held item layers, are not counted. These are
+ * only changed on the render thread.
+ */
+@SideOnly(Side.CLIENT)
+public class RenderStats {
+    
+    private static long draws;
+    private static long binds;
+    private static long shaders;
+    private static long stateCalls;
+    
+    /**
+     * Counts a draw, such as a tessellator draw, a model part or a glBegin/glEnd pair.
+     */
+    public static void countDraw () {
+        
+        draws++;
+    }
+    
+    public static void countBind () {
+        
+        binds++;
+    }
+    
+    public static void countShader () {
+        
+        shaders++;
+    }
+    
+    /*
+     * The render state calls made by the mod's renderers go through the methods below, which
+     * count the call and pass it on, so the count can't drift from the calls made. Calls which
+     * set a state that is already set are counted too.
+     */
+    
+    public static void enableBlend () {
+        
+        stateCalls++;
+        GlStateManager.enableBlend();
+    }
+    
+    public static void disableBlend () {
+        
+        stateCalls++;
+        GlStateManager.disableBlend();
+    }
+    
+    public static void blendFunc (int srcFactor, int dstFactor) {
+        
+        stateCalls++;
+        GlStateManager.blendFunc(srcFactor, dstFactor);
+    }
+    
+    public static void blendFunc (SourceFactor srcFactor, DestFactor dstFactor) {
+        
+        stateCalls++;
+        GlStateManager.blendFunc(srcFactor, dstFactor);
+    }
+    
+    /**
+     * Sets the blend function directly, without going through the state cache of
+     * {@link GlStateManager}.
+     *
+     * @param srcFactor The source factor.
+     * @param dstFactor The destination factor.
+     */
+    public static void glBlendFunc (int srcFactor, int dstFactor) {
+        
+        stateCalls++;
+        GL11.glBlendFunc(srcFactor, dstFactor);
+    }
+    
+    public static void depthMask (boolean flag) {
+        
+        stateCalls++;
+        GlStateManager.depthMask(flag);
+    }
+    
+    public static void color (float red, float green, float blue, float alpha) {
+        
+        stateCalls++;
+        GlStateManager.color(red, green, blue, alpha);
+    }
+    
+    public static void disableRescaleNormal () {
+        
+        stateCalls++;
+        GlStateManager.disableRescaleNormal();
+    }
+    
+    public static long getDraws () {
+        
+        return draws;
+    }
+    
+    public static long getBinds () {
+        
+        return binds;
+    }
+    
+    public static long getShaders () {
+        
+        return shaders;
+    }
+    
+    /**
+     * Gets the amount of render state calls made. {@link GlStateManager} skips the GL call when
+     * the state is already set, so this is an upper bound on the state changes sent to GL.
+     *
+     * @return The amount of render state calls.
+     */
+    public static long getStateCalls () {
+        
+        return stateCalls;
+    }
+}
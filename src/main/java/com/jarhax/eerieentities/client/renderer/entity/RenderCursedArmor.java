@@ -1,5 +1,9 @@
 package com.jarhax.eerieentities.client.renderer.entity;
 
+import com.jarhax.eerieentities.client.profiler.ProfiledLayer;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityCursedArmor;
 
 import net.minecraft.client.model.ModelBiped;
@@ -11,11 +15,13 @@ import net.minecraft.util.ResourceLocation;
 
 public class RenderCursedArmor extends RenderLiving<EntityCursedArmor> {
     
+    private final Timer timer = RenderProfiler.getTimer(Config.cursedArmor.getName(), "render");
+    
     public RenderCursedArmor(RenderManager rendermanagerIn) {
         
         super(rendermanagerIn, new ModelBiped(), 0.45f);
-        this.addLayer(new LayerBipedArmor(this));
-        this.addLayer(new LayerHeldItem(this));
+        this.addLayer(new ProfiledLayer<>(new LayerBipedArmor(this), Config.cursedArmor.getName(), "armor"));
+        this.addLayer(new ProfiledLayer<>(new LayerHeldItem(this), Config.cursedArmor.getName(), "held_item"));
         
         // for (ModelRenderer box : this.getMainModel().boxList) {
         //
@@ -23,6 +29,14 @@ public class RenderCursedArmor extends RenderLiving<EntityCursedArmor> {
         // }
     }
     
+    @Override
+    public void doRender (EntityCursedArmor entity, double x, double y, double z, float entityYaw, float partialTicks) {
+        
+        final long start = this.timer.start();
+        super.doRender(entity, x, y, z, entityYaw, partialTicks);
+        this.timer.stop(start);
+    }
+    
     @Override
     protected ResourceLocation getEntityTexture (EntityCursedArmor entity) {
         
@@ -2,6 +2,10 @@ package com.jarhax.eerieentities.client.renderer.entity;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.client.model.ModelCube;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
 
 import net.minecraft.client.renderer.GlStateManager;
@@ -14,6 +18,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class RenderPumpkinSlime extends RenderLiving<EntityPumpkinSlime> {
     
+    private final Timer timer = RenderProfiler.getTimer(Config.pumpkinSlime.getName(), "render");
+    
     public RenderPumpkinSlime(RenderManager renderManager) {
         
         super(renderManager, new ModelCube(), 0.0F);
@@ -22,7 +28,9 @@ public class RenderPumpkinSlime extends RenderLiving<EntityPumpkinSlime> {
     @Override
     public void doRender (EntityPumpkinSlime entity, double x, double y, double z, float entityYaw, float partialTicks) {
         
+        final long start = this.timer.start();
         super.doRender(entity, x, y, z, entityYaw, partialTicks);
+        this.timer.stop(start);
     }
     
     @Override
@@ -40,4 +48,11 @@ public class RenderPumpkinSlime extends RenderLiving<EntityPumpkinSlime> {
         
         return new ResourceLocation(EerieEntities.MODID, "textures/entity/pumpkin/pumpkin_" + entity.getType() + ".png");
     }
+    
+    @Override
+    protected boolean bindEntityTexture (EntityPumpkinSlime entity) {
+        
+        RenderStats.countBind();
+        return super.bindEntityTexture(entity);
+    }
 }
\ No newline at end of file
@@ -5,13 +5,18 @@ import java.util.HashMap;
 import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.ArrayUtils;
-import org.lwjgl.opengl.GL11;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.client.ShaderHandler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityWisp;
 import com.jarhax.eerieentities.entities.WispType;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.darkhax.bookshelf.util.RenderUtils;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
@@ -26,20 +31,33 @@ import net.minecraft.util.ResourceLocation;
 
 public class RenderWisp extends Render<EntityWisp> {
     
-    // month, day, index, color, rgb
-    public static float[][][][] colors = new float[13][32][16][3];
+    /**
+     * The color tables of the special dates, keyed by {@link #getDateKey(int, int)}. Only a few
+     * dates have one, so they are kept in a map instead of a table for every day of the year.
+     */
+    public static final Int2ObjectMap<float[][]> colors = new Int2ObjectOpenHashMap<>();
     
     static {
         
+        final float[][] rainbow = new float[16][];
+        
         for (int meta = 0; meta < 16; meta++) {
             
-            colors[6][12][meta] = EntitySheep.getDyeRgb(EnumDyeColor.byMetadata(meta));
+            rainbow[meta] = EntitySheep.getDyeRgb(EnumDyeColor.byMetadata(meta));
         }
         
-        colors[7][1] = createRepeating(EnumDyeColor.RED, EnumDyeColor.WHITE);
-        colors[4][27] = createRepeating(EnumDyeColor.BLACK, EnumDyeColor.YELLOW, EnumDyeColor.RED, EnumDyeColor.GREEN, EnumDyeColor.WHITE, EnumDyeColor.BLUE);
+        colors.put(getDateKey(6, 12), rainbow);
+        colors.put(getDateKey(7, 1), createRepeating(EnumDyeColor.RED, EnumDyeColor.WHITE));
+        colors.put(getDateKey(4, 27), createRepeating(EnumDyeColor.BLACK, EnumDyeColor.YELLOW, EnumDyeColor.RED, EnumDyeColor.GREEN, EnumDyeColor.WHITE, EnumDyeColor.BLUE));
     }
     
+    /**
+     * The color of the wisp being rendered. Rendering only happens on one thread, so this is
+     * shared to avoid allocating a new array for every wisp each frame.
+     */
+    private final float[] rgb = new float[3];
+    private final Timer timer = RenderProfiler.getTimer(Config.wisp.getName(), "render");
+    
     public RenderWisp(RenderManager renderManagerIn) {
         
         super(renderManagerIn);
@@ -55,15 +73,17 @@ public class RenderWisp extends Render<EntityWisp> {
     @Override
     public void doRender (EntityWisp entity, double x, double y, double z, float entityYaw, float partialTicks) {
         
+        final long start = this.timer.start();
         GlStateManager.pushMatrix();
         GlStateManager.translate((float) x, (float) y, (float) z);
-        GlStateManager.depthMask(false);
-        GlStateManager.enableBlend();
-        GL11.glBlendFunc(770, 769);
+        RenderStats.depthMask(false);
+        RenderStats.enableBlend();
+        RenderStats.glBlendFunc(770, 769);
         
         this.bindEntityTexture(entity);
+        RenderStats.countBind();
         final float width = entity.width / 2;
-        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        RenderStats.color(1.0F, 1.0F, 1.0F, 1.0F);
         GlStateManager.translate(0.0F, width, 0.0F);
         GlStateManager.rotate(180.0F - this.renderManager.playerViewY, 0.0F, 1.0F, 0.0F);
         GlStateManager.rotate((this.renderManager.options.thirdPersonView == 2 ? -1 : 1) * -this.renderManager.playerViewX, 1.0F, 0.0F, 0.0F);
@@ -74,23 +94,28 @@ public class RenderWisp extends Render<EntityWisp> {
         final Tessellator tessellator = Tessellator.getInstance();
         final BufferBuilder bufferbuilder = tessellator.getBuffer();
         
-        final WispType type = WispType.values()[entity.getType()];
+        final WispType type = WispType.byOrdinal(entity.getType());
         
         float red = 1f;
         float green = 1f;
         float blue = 1f;
         float alpha = 1;
         
-        float[][] colorTable = colors[entity.getMonth()][entity.getDay()];
+        float[][] colorTable = getColorTable(entity.getMonth(), entity.getDay());
         
         if (entity.hasCustomName() && ("Jaredlll08".equalsIgnoreCase(entity.getName()) || "Darkhax".equalsIgnoreCase(entity.getName()))) {
             
-            colorTable = colors[6][12];
+            colorTable = getColorTable(6, 12);
         }
         
-        float[] rgb = this.getColor(entity, colorTable, partialTicks);
+        final float[] rgb = this.rgb;
         
-        if (rgb[0] > 0 && rgb[1] > 0 && rgb[2] > 0) {
+        if (colorTable != null) {
+            
+            getColor(entity.ticksExisted, entity.getEntityId(), colorTable, partialTicks, rgb);
+        }
+        
+        if (colorTable != null && rgb[0] > 0 && rgb[1] > 0 && rgb[2] > 0) {
             
             red = rgb[0];
             green = rgb[1];
@@ -110,34 +135,59 @@ public class RenderWisp extends Render<EntityWisp> {
         bufferbuilder.pos(width, width, 0).tex(1, 0).color(red, green, blue, alpha).normal(0.0F, 1.0F, 0.0F).endVertex();
         bufferbuilder.pos(-width, width, 0).tex(0, 0).color(red, green, blue, alpha).normal(0.0F, 1.0F, 0.0F).endVertex();
         tessellator.draw();
+        RenderStats.countDraw();
         ShaderHandler.releaseShader();
-        GlStateManager.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
-        GlStateManager.disableBlend();
-        GlStateManager.depthMask(true);
-        GlStateManager.disableRescaleNormal();
+        RenderStats.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+        RenderStats.disableBlend();
+        RenderStats.depthMask(true);
+        RenderStats.disableRescaleNormal();
         GlStateManager.popMatrix();
         super.doRender(entity, x, y, z, entityYaw, partialTicks);
+        this.timer.stop(start);
     }
     
-    private float[] getColor(EntityWisp wisp, float[][] colorTable, float partialTicks) {
+    public static int getDateKey (int month, int day) {
         
-        final float[] rgb = new float[3];
+        return month << 5 | day;
+    }
+    
+    /**
+     * Gets the color table of a date.
+     *
+     * @param month The month, starting at one.
+     * @param day The day of the month.
+     * @return The color table of the date, or null if wisps use their normal color on it.
+     */
+    @Nullable
+    public static float[][] getColorTable (int month, int day) {
         
-        final int ticks = wisp.ticksExisted / 25 + wisp.getEntityId();
-        final int colorCount = EnumDyeColor.values().length;
+        return colors.get(getDateKey(month, day));
+    }
+    
+    /**
+     * Blends between the colors of a color table, moving to the next color every 25 ticks.
+     *
+     * @param ticksExisted The age of the wisp.
+     * @param entityId The id of the wisp, used to offset wisps from each other.
+     * @param colorTable The sixteen colors to blend between.
+     * @param partialTicks The time since the last tick.
+     * @param rgb The array to write the blended color to.
+     */
+    static void getColor (int ticksExisted, int entityId, float[][] colorTable, float partialTicks, float[] rgb) {
+        
+        final int ticks = ticksExisted / 25 + entityId;
+        final int colorCount = colorTable.length;
         final int colorMeta1 = ticks % colorCount;
         final int colorMeta2 = (ticks + 1) % colorCount;
-        final float f = (wisp.ticksExisted % 25 + partialTicks) / 25.0F;
+        final float f = (ticksExisted % 25 + partialTicks) / 25.0F;
         final float[] color1 = colorTable[colorMeta1];
         final float[] color2 = colorTable[colorMeta2];
         
-        
         rgb[0] = color1[0] * (1.0F - f) + color2[0] * f;
         rgb[1] = color1[1] * (1.0F - f) + color2[1] * f;
         rgb[2] = color1[2] * (1.0F - f) + color2[2] * f;
-        return rgb;
     }
-
+    
     private static float[][] createRepeating(EnumDyeColor... colors) {
         
         final float[][] colorValues = new float[16][3];
@@ -2,6 +2,10 @@ package com.jarhax.eerieentities.client.renderer.entity.knight;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.client.model.ModelKnightShield;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityNetherKnight;
 
 import net.minecraft.client.Minecraft;
@@ -15,6 +19,11 @@ public class RenderLayerShield implements LayerRenderer<EntityNetherKnight> {
     private final ModelKnightShield shieldModel;
     private final EnumFacing direction;
     
+    /**
+     * Times the rune text, which is shared by all four shields.
+     */
+    private final Timer runes = RenderProfiler.getTimer(Config.netherKnight.getName(), "runes");
+    
     public RenderLayerShield(EnumFacing direction) {
         
         this.shieldModel = new ModelKnightShield();
@@ -42,16 +51,19 @@ public class RenderLayerShield implements LayerRenderer<EntityNetherKnight> {
         
         GlStateManager.rotate(angle, 0, 1, 0);
         GlStateManager.rotate(-24, 1, 0, 0);
-        GlStateManager.color(1f, 1f, 1f, 1f);
+        RenderStats.color(1f, 1f, 1f, 1f);
         Minecraft.getMinecraft().getTextureManager().bindTexture(new ResourceLocation(EerieEntities.MODID, "textures/entity/nether_knight/nether_knight.png"));
+        RenderStats.countBind();
         this.shieldModel.render(0.0625F);
         // 0.001 to get rid of zfighting
         GlStateManager.translate(-0.25, 0.25, -(10f / 16f + 0.5f / 16f + 0.001));
         GlStateManager.scale(0.0625f, 0.0625f, 0.0625f);
-        GlStateManager.enableBlend();
-        GlStateManager.blendFunc(770, 769);
+        RenderStats.enableBlend();
+        RenderStats.blendFunc(770, 769);
+        final long start = this.runes.start();
         EerieEntities.fontRunelic.drawString(String.valueOf(entity.getRune(this.direction.getHorizontalIndex())), 0, 0, 0x00FFFF);
-        GlStateManager.disableBlend();
+        this.runes.stop(start);
+        RenderStats.disableBlend();
         GlStateManager.popMatrix();
     }
     
@@ -2,6 +2,11 @@ package com.jarhax.eerieentities.client.renderer.entity.knight;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.client.model.ModelEmpty;
+import com.jarhax.eerieentities.client.profiler.ProfiledLayer;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler;
+import com.jarhax.eerieentities.client.profiler.RenderProfiler.Timer;
+import com.jarhax.eerieentities.client.profiler.RenderStats;
+import com.jarhax.eerieentities.config.Config;
 import com.jarhax.eerieentities.entities.EntityNetherKnight;
 
 import net.minecraft.client.renderer.entity.RenderLiving;
@@ -13,14 +18,25 @@ public class RenderNetherKnight extends RenderLiving<EntityNetherKnight> {
     
     private static final ResourceLocation TEXTURE_HEAD = new ResourceLocation(EerieEntities.MODID, "textures/entity/nether_knight/head.png");
     
+    private final Timer timer = RenderProfiler.getTimer(Config.netherKnight.getName(), "render");
+    
     public RenderNetherKnight(RenderManager rendermanagerIn) {
         
         super(rendermanagerIn, new ModelEmpty(), 0f);
-        this.addLayer(new RenderLayerHead());
-        this.addLayer(new RenderLayerShield(EnumFacing.NORTH));
-        this.addLayer(new RenderLayerShield(EnumFacing.EAST));
-        this.addLayer(new RenderLayerShield(EnumFacing.SOUTH));
-        this.addLayer(new RenderLayerShield(EnumFacing.WEST));
+        this.addLayer(new ProfiledLayer<>(new RenderLayerHead(), Config.netherKnight.getName(), "head"));
+        
+        for (final EnumFacing direction : new EnumFacing[] { EnumFacing.NORTH, EnumFacing.EAST, EnumFacing.SOUTH, EnumFacing.WEST }) {
+            
+            this.addLayer(new ProfiledLayer<>(new RenderLayerShield(direction), Config.netherKnight.getName(), "shield_" + direction.getName()));
+        }
+    }
+    
+    @Override
+    public void doRender (EntityNetherKnight entity, double x, double y, double z, float entityYaw, float partialTicks) {
+        
+        final long start = this.timer.start();
+        super.doRender(entity, x, y, z, entityYaw, partialTicks);
+        this.timer.stop(start);
     }
     
     @Override
@@ -28,4 +44,11 @@ public class RenderNetherKnight extends RenderLiving<EntityNetherKnight> {
         
         return TEXTURE_HEAD;
     }
+    
+    @Override
+    protected boolean bindEntityTexture (EntityNetherKnight entity) {
+        
+        RenderStats.countBind();
+        return super.bindEntityTexture(entity);
+    }
 }
\ No newline at end of file
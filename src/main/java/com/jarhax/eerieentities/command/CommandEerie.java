@@ -0,0 +1,35 @@
+package com.jarhax.eerieentities.command;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraftforge.server.command.CommandTreeBase;
+
+/**
+ * The root of the mod's server commands. Each feature adds its own sub command.
+ */
+public class CommandEerie extends CommandTreeBase {
+    
+    public CommandEerie() {
+        
+        this.addSubcommand(new CommandProfile());
+        this.addSubcommand(new CommandSpawns());
+        this.addSubcommand(new CommandTrace());
+    }
+    
+    @Override
+    public String getName () {
+        
+        return "eerie";
+    }
+    
+    @Override
+    public int getRequiredPermissionLevel () {
+        
+        return 2;
+    }
+    
+    @Override
+    public String getUsage (ICommandSender sender) {
+        
+        return "commands.eerie.usage";
+    }
+}
@@ -0,0 +1,91 @@
+package com.jarhax.eerieentities.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+
+public class CommandProfile extends CommandBase {
+    
+    @Override
+    public String getName () {
+        
+        return "profile";
+    }
+    
+    @Override
+    public int getRequiredPermissionLevel () {
+        
+        return 2;
+    }
+    
+    @Override
+    public String getUsage (ICommandSender sender) {
+        
+        return "commands.eerie.profile.usage";
+    }
+    
+    @Override
+    public void execute (MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        
+        if (args.length != 1) {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+        
+        if ("start".equals(args[0])) {
+            
+            MobProfiler.enable();
+            notifyCommandListener(sender, this, "commands.eerie.profile.start");
+        }
+        
+        else if ("stop".equals(args[0])) {
+            
+            if (!MobProfiler.isEnabled()) {
+                
+                throw new CommandException("commands.eerie.profile.notRunning");
+            }
+            
+            MobProfiler.disable();
+            notifyCommandListener(sender, this, "commands.eerie.profile.stop");
+        }
+        
+        else if ("dump".equals(args[0])) {
+            
+            try {
+                
+                final File file = MobProfiler.dump(server, EerieEntities.getOutputDirectory(server, "profiles"));
+                notifyCommandListener(sender, this, "commands.eerie.profile.dump", file.getName());
+            }
+            
+            catch (final IOException e) {
+                
+                EerieEntities.LOG.catching(e);
+                throw new CommandException("commands.eerie.profile.failed", e.getMessage());
+            }
+        }
+        
+        else {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+    }
+    
+    @Override
+    public List<String> getTabCompletions (MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        
+        return args.length == 1 ? getListOfStringsMatchingLastWord(args, "start", "stop", "dump") : Collections.emptyList();
+    }
+}
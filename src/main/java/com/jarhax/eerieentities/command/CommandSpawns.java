@@ -0,0 +1,160 @@
+package com.jarhax.eerieentities.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.world.SpawnTelemetry;
+import com.jarhax.eerieentities.world.SpawnTelemetry.Outcome;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+
+public class CommandSpawns extends CommandBase {
+    
+    private static final int MAX_BIOMES = 10;
+    
+    @Override
+    public String getName () {
+        
+        return "spawns";
+    }
+    
+    @Override
+    public int getRequiredPermissionLevel () {
+        
+        return 2;
+    }
+    
+    @Override
+    public String getUsage (ICommandSender sender) {
+        
+        return "commands.eerie.spawns.usage";
+    }
+    
+    @Override
+    public void execute (MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        
+        if (!Config.spawnTelemetry) {
+            
+            throw new CommandException("commands.eerie.spawns.disabled");
+        }
+        
+        if (args.length == 0) {
+            
+            for (final MobConfig config : MobConfig.mobConfigs) {
+                
+                sender.sendMessage(getLine(config.getName(), config, -1));
+            }
+        }
+        
+        else if (args.length == 1 && "dump".equals(args[0])) {
+            
+            try {
+                
+                final File file = SpawnTelemetry.dump(server);
+                notifyCommandListener(sender, this, "commands.eerie.spawns.dump", file.getName());
+            }
+            
+            catch (final IOException e) {
+                
+                EerieEntities.LOG.catching(e);
+                throw new CommandException("commands.eerie.spawns.failed", e.getMessage());
+            }
+        }
+        
+        else if (args.length == 1 && "reset".equals(args[0])) {
+            
+            SpawnTelemetry.reset();
+            notifyCommandListener(sender, this, "commands.eerie.spawns.reset");
+        }
+        
+        else if (args.length == 1) {
+            
+            final MobConfig config = getConfig(args[0]);
+            final List<Integer> biomes = new ArrayList<>();
+            
+            for (int biome = 0; biome < 256; biome++) {
+                
+                if (SpawnTelemetry.getCount(config, biome, null) > 0) {
+                    
+                    biomes.add(biome);
+                }
+            }
+            
+            // Show the biomes with the most attempts first.
+            biomes.sort((a, b) -> Long.compare(SpawnTelemetry.getCount(config, b, null), SpawnTelemetry.getCount(config, a, null)));
+            sender.sendMessage(getLine(config.getName(), config, -1));
+            
+            for (final int biome : biomes.subList(0, Math.min(biomes.size(), MAX_BIOMES))) {
+                
+                sender.sendMessage(getLine("  " + SpawnTelemetry.getBiomeName(biome), config, biome));
+            }
+        }
+        
+        else {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+    }
+    
+    private static TextComponentTranslation getLine (String name, MobConfig config, int biome) {
+        
+        final Outcome[] outcomes = Outcome.values();
+        final Object[] args = new Object[outcomes.length + 2];
+        args[0] = name;
+        args[1] = SpawnTelemetry.getCount(config, biome, null);
+        
+        for (int index = 0; index < outcomes.length; index++) {
+            
+            args[index + 2] = SpawnTelemetry.getCount(config, biome, outcomes[index]);
+        }
+        
+        return new TextComponentTranslation("commands.eerie.spawns.line", args);
+    }
+    
+    private static MobConfig getConfig (String name) throws CommandException {
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            if (config.getName().equals(name)) {
+                
+                return config;
+            }
+        }
+        
+        throw new CommandException("commands.eerie.spawns.unknownMob", name);
+    }
+    
+    @Override
+    public List<String> getTabCompletions (MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        
+        if (args.length == 1) {
+            
+            final List<String> options = new ArrayList<>();
+            options.add("dump");
+            options.add("reset");
+            
+            for (final MobConfig config : MobConfig.mobConfigs) {
+                
+                options.add(config.getName());
+            }
+            
+            return getListOfStringsMatchingLastWord(args, options);
+        }
+        
+        return Collections.emptyList();
+    }
+}
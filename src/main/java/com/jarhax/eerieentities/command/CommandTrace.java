@@ -0,0 +1,72 @@
+package com.jarhax.eerieentities.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.profiler.EventTrace;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+
+public class CommandTrace extends CommandBase {
+    
+    @Override
+    public String getName () {
+        
+        return "trace";
+    }
+    
+    @Override
+    public int getRequiredPermissionLevel () {
+        
+        return 2;
+    }
+    
+    @Override
+    public String getUsage (ICommandSender sender) {
+        
+        return "commands.eerie.trace.usage";
+    }
+    
+    @Override
+    public void execute (MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        
+        if (args.length != 1 || !"dump".equals(args[0])) {
+            
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+        
+        if (!Config.eventTrace) {
+            
+            throw new CommandException("commands.eerie.trace.disabled");
+        }
+        
+        try {
+            
+            final File file = EventTrace.dump(server);
+            notifyCommandListener(sender, this, "commands.eerie.trace.dump", file.getName());
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.catching(e);
+            throw new CommandException("commands.eerie.trace.failed", e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<String> getTabCompletions (MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        
+        return args.length == 1 ? getListOfStringsMatchingLastWord(args, "dump") : Collections.emptyList();
+    }
+}
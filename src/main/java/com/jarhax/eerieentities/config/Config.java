@@ -1,22 +1,37 @@
 package com.jarhax.eerieentities.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
 import com.jarhax.eerieentities.Configuration;
 import com.jarhax.eerieentities.config.mob.MobConfigCursedArmor;
 import com.jarhax.eerieentities.config.mob.MobConfigNetherKnight;
 import com.jarhax.eerieentities.config.mob.MobConfigPumpkinSlime;
-import com.jarhax.eerieentities.entities.EntityWisp;
+import com.jarhax.eerieentities.config.mob.MobConfigWisp;
+import com.jarhax.eerieentities.profiler.StartupTimer;
 
-import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.world.biome.Biome;
 
 public class Config {
     
     public static Configuration cfg = new Configuration("eerieentities");
     
-    public static MobConfig wisp = new MobConfig("will_o_wisp", EntityWisp.class, EnumCreatureType.AMBIENT, 1d, 0.2d, 0d, 0d, 4, 1, 1, 10, 1, "type=SWAMP");
+    public static MobConfigWisp wisp = new MobConfigWisp(1d, 0.2d, 0d, 0d, 4, 1, 1, 10, 1, "type=SWAMP");
     public static MobConfigPumpkinSlime pumpkinSlime = new MobConfigPumpkinSlime(10d, 0.4d, 0d, 4d, 4, 1, 1, 5, 3, "type=MAGICAL", "type=FOREST", "type=PLAINS");
     public static MobConfigNetherKnight netherKnight = new MobConfigNetherKnight(100d, 0.23d, 5d, 5d, 1, 1, 1, 1, 350, "type=NETHER");
     public static MobConfigCursedArmor cursedArmor = new MobConfigCursedArmor(1d, 0.2d, 0d, 1d, 1, 1, 1, 1, 15, "type=WASTELAND", "type=SPOOKY", "type=DEAD", "type=MAGICAL");
     
+    public static boolean aggregateDeathDrops;
+    public static boolean adaptiveTracking;
+    public static boolean spawnTelemetry;
+    public static int spawnTelemetryInterval;
+    public static boolean metricsEndpoint;
+    public static int metricsPort;
+    public static boolean eventTrace;
+    public static int traceOverrunMillis;
+    
     public static void syncConfigData () {
         
         for (final MobConfig mobCfg : MobConfig.mobConfigs) {
@@ -24,6 +39,16 @@ public class Config {
             mobCfg.syncConfig(cfg);
         }
         
+        cfg.setCategoryComment("general", "General options for the mod.");
+        aggregateDeathDrops = cfg.getBoolean("aggregateDeathDrops", "general", false, "Should the drops and experience of mobs that die near each other in the same tick be combined into fewer entities? The combined drops appear at the end of the tick where the first of those mobs died.");
+        adaptiveTracking = cfg.getBoolean("adaptiveTracking", "general", false, "Should the mod's mobs send position updates more often while fighting, and less often while slow or standing still? This saves bandwidth, but slow mobs may look choppy to players and mobs that start moving can lag behind for up to a second.");
+        spawnTelemetry = cfg.getBoolean("spawnTelemetry", "general", false, "Should the natural spawn attempts of the mod's mobs be counted by biome and outcome? The counts can be viewed with /eerie spawns.");
+        spawnTelemetryInterval = cfg.getInt("spawnTelemetryInterval", "general", 10, 0, 1440, "The amount of minutes between writes of the spawn counts to eerieentities/spawns/spawns.csv. Set to 0 to only write them with /eerie spawns dump.");
+        metricsEndpoint = cfg.getBoolean("metricsEndpoint", "general", false, "Should mob metrics be served in the Prometheus text format at http://localhost:<metricsPort>/metrics? The endpoint only accepts local connections.");
+        metricsPort = cfg.getInt("metricsPort", "general", 9225, 1024, 65535, "The port used by the metrics endpoint.");
+        eventTrace = cfg.getBoolean("eventTrace", "general", false, "Should state changes of the mod's mobs be recorded in a small in memory trace? The trace can be written with /eerie trace dump.");
+        traceOverrunMillis = cfg.getInt("traceOverrunMillis", "general", 250, 0, 60000, "When the event trace is on, it is written automatically after a server tick takes at least this many milliseconds. Set to 0 to disable.");
+        
         if (cfg.hasChanged()) {
             
             cfg.save();
@@ -32,9 +57,21 @@ public class Config {
     
     public static void updateSpawnEntries () {
         
+        // Resolving the biomes only reads the registries, so every mob is resolved at once. The
+        // spawn lists of the biomes are not thread safe, so the spawns are still added here.
+        final Map<MobConfig, Future<Set<Biome>>> biomes = new LinkedHashMap<>();
+        
         for (final MobConfig mobCfg : MobConfig.mobConfigs) {
             
-            mobCfg.insertSpawns();
+            if (mobCfg.hasSpawns()) {
+                
+                biomes.put(mobCfg, StartupTimer.submit(StartupTimer.POST_INIT, mobCfg.getName() + "_biomes", mobCfg::getSpawnBiomes));
+            }
+        }
+        
+        for (final Map.Entry<MobConfig, Future<Set<Biome>>> entry : biomes.entrySet()) {
+            
+            entry.getKey().addSpawns(StartupTimer.join(entry.getValue()));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.jarhax.eerieentities.config;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -9,6 +11,7 @@ import java.util.Set;
 
 import com.jarhax.eerieentities.Configuration;
 
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.EnumCreatureType;
@@ -26,8 +29,10 @@ import net.minecraftforge.fml.relauncher.ReflectionHelper;
 public class MobConfig {
     
     public static final List<MobConfig> mobConfigs = new ArrayList<>();
+    private static final Map<Class<? extends Entity>, MobConfig> byClass = new HashMap<>();
     private static final Map<String, Type> byName = ReflectionHelper.getPrivateValue(BiomeDictionary.Type.class, null, "byName");
     
+    private final int id;
     private final String name;
     private final Class<? extends EntityLiving> entClass;
     private final EnumCreatureType mobType;
@@ -43,6 +48,11 @@ public class MobConfig {
     private final int baseEXPDefault;
     private final String[] biomesDefault;
     
+    // The same tracker settings Bookshelf registers every mob with.
+    private int trackingRangeDefault = 64;
+    private int updateFrequencyDefault = 1;
+    private boolean sendsVelocityUpdatesDefault = true;
+    
     private double maxHealth;
     private double speed;
     private double armor;
@@ -52,10 +62,15 @@ public class MobConfig {
     private int maxPackSize;
     private int spawnWeight;
     private int baseEXP;
+    private int maxPerPlayer;
     private String[] biomes;
+    private int trackingRange;
+    private int updateFrequency;
+    private boolean sendsVelocityUpdates;
     
     public MobConfig(String name, Class<? extends EntityLiving> entClass, EnumCreatureType mobType, double maxHealthDefault, double speedDefault, double armorDefault, double attackDefault, int maxInChunkDefault, int minPackSizeDefault, int maxPackSizeDefault, int spawnWeightDefault, int baseEXPDefault, String... biomesDefault) {
         
+        this.id = mobConfigs.size();
         this.name = name;
         this.entClass = entClass;
         this.mobType = mobType;
@@ -72,6 +87,29 @@ public class MobConfig {
         this.biomesDefault = biomesDefault;
         
         mobConfigs.add(this);
+        byClass.put(entClass, this);
+    }
+    
+    /**
+     * Gets the mob config for an entity class.
+     *
+     * @param entClass The class of the entity.
+     * @return The config for the entity, or null if it is not one of the mod's mobs.
+     */
+    public static MobConfig getConfig (Class<? extends Entity> entClass) {
+        
+        return byClass.get(entClass);
+    }
+    
+    /**
+     * Changes the default tracker settings for this mob. This should be called from the
+     * constructor of mobs which need something other than the normal mob settings.
+     */
+    protected void setTrackerDefaults (int trackingRange, int updateFrequency, boolean sendsVelocityUpdates) {
+        
+        this.trackingRangeDefault = trackingRange;
+        this.updateFrequencyDefault = updateFrequency;
+        this.sendsVelocityUpdatesDefault = sendsVelocityUpdates;
     }
     
     public void apply (EntityLivingBase entity) {
@@ -100,42 +138,70 @@ public class MobConfig {
     
     public void insertSpawns () {
         
-        if (this.biomesDefault.length > 0 && this.getSpawnWeight() != 0) {
+        if (this.hasSpawns()) {
             
-            final Set<Biome> biomes = new HashSet<>();
+            this.addSpawns(this.getSpawnBiomes());
+        }
+    }
+    
+    /**
+     * Checks if this mob should be added to the spawn lists of its biomes at all.
+     */
+    public boolean hasSpawns () {
+        
+        return this.biomesDefault.length > 0 && this.getSpawnWeight() != 0;
+    }
+    
+    /**
+     * Resolves the configured biome entries into the biomes they match.
+     *
+     * @return Every biome this mob may spawn in.
+     */
+    public Set<Biome> getSpawnBiomes () {
+        
+        final Set<Biome> biomes = new HashSet<>();
+        
+        for (final String biomeKey : this.biomes) {
             
-            for (final String biomeKey : this.biomes) {
+            // This is a biome dictionary entry.
+            if (biomeKey.startsWith("type=")) {
                 
-                // This is a biome dictionary entry.
-                if (biomeKey.startsWith("type=")) {
-                    
-                    final Type biomeType = byName.get(biomeKey.substring(5).toUpperCase(Locale.ROOT));
-                    
-                    if (biomeType != null) {
-                        
-                        for (final Biome biome : BiomeDictionary.getBiomes(biomeType)) {
-                            
-                            biomes.add(biome);
-                        }
-                    }
-                }
+                final Type biomeType = byName.get(biomeKey.substring(5).toUpperCase(Locale.ROOT));
                 
-                else {
-                    
-                    final Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(biomeKey));
+                if (biomeType != null) {
                     
-                    if (biome != null) {
+                    for (final Biome biome : BiomeDictionary.getBiomes(biomeType)) {
                         
                         biomes.add(biome);
                     }
                 }
             }
             
-            for (final Biome biome : biomes) {
+            else {
                 
-                biome.getSpawnableList(this.mobType).add(new SpawnListEntry(this.entClass, this.getSpawnWeight(), this.getMinPackSize(), this.getMaxPackSize()));
+                final Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(biomeKey));
+                
+                if (biome != null) {
+                    
+                    biomes.add(biome);
+                }
             }
         }
+        
+        return biomes;
+    }
+    
+    /**
+     * Adds a spawn entry for this mob to each biome.
+     *
+     * @param biomes The biomes to add the mob to.
+     */
+    public void addSpawns (Collection<Biome> biomes) {
+        
+        for (final Biome biome : biomes) {
+            
+            biome.getSpawnableList(this.mobType).add(new SpawnListEntry(this.entClass, this.getSpawnWeight(), this.getMinPackSize(), this.getMaxPackSize()));
+        }
     }
     
     public void syncConfig (Configuration config) {
@@ -151,9 +217,23 @@ public class MobConfig {
         this.maxPackSize = config.getInt("maxPackSize", this.name, this.maxPackSizeDefault, 1, 128, "The maximum amount to spawn in one pack.");
         this.spawnWeight = config.getInt("spawnWeight", this.name, this.spawnWeightDefault, 0, 1024, "The spawning weight of this mob.");
         this.baseEXP = config.getInt("baseExperience", this.name, this.baseEXPDefault, 0, Integer.MAX_VALUE / 2, "The base amount of experience for the mob to drop.");
+        this.maxPerPlayer = config.getInt("maxPerPlayer", this.name, 0, 0, 1024, "The maximum amount of this mob that can be within the view distance of one player before natural spawning near them stops. Set to 0 to disable.");
+        this.trackingRange = config.getInt("trackingRange", this.name, this.trackingRangeDefault, 16, 512, "The distance in blocks players can see this mob from. This is still limited by the view distance of the server.");
+        this.updateFrequency = config.getInt("updateFrequency", this.name, this.updateFrequencyDefault, 1, 100, "The amount of ticks between position updates sent to players. When adaptive tracking is on, this is the interval for a normally moving mob.");
+        this.sendsVelocityUpdates = config.getBoolean("sendsVelocityUpdates", this.name, this.sendsVelocityUpdatesDefault, "Should changes to the velocity of this mob be sent to players?");
         this.biomes = config.getStringList("biomes", this.name, this.biomesDefault, "The biomes this mob can spawn in. Use biome ID such as minecraft:ocean for specific biomes, and type=TYPE for biome dict support.");
     }
     
+    public int getId () {
+        
+        return this.id;
+    }
+    
+    public Class<? extends EntityLiving> getEntityClass () {
+        
+        return this.entClass;
+    }
+    
     public String getName () {
         
         return this.name;
@@ -203,4 +283,24 @@ public class MobConfig {
         
         return this.baseEXP;
     }
+    
+    public int getMaxPerPlayer () {
+        
+        return this.maxPerPlayer;
+    }
+    
+    public int getTrackingRange () {
+        
+        return this.trackingRange;
+    }
+    
+    public int getUpdateFrequency () {
+        
+        return this.updateFrequency;
+    }
+    
+    public boolean isSendsVelocityUpdates () {
+        
+        return this.sendsVelocityUpdates;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,31 @@
 package com.jarhax.eerieentities.config.mob;
 
+import com.jarhax.eerieentities.Configuration;
 import com.jarhax.eerieentities.config.MobConfig;
 import com.jarhax.eerieentities.entities.EntityCursedArmor;
+import com.jarhax.eerieentities.util.WeightedTable;
 
 import net.minecraft.entity.EnumCreatureType;
 
 public class MobConfigCursedArmor extends MobConfig {
     
+    private WeightedTable armorSetTable;
+    
     public MobConfigCursedArmor(double maxHealthDefault, double speedDefault, double armorDefault, double attackDefault, int maxInChunkDefault, int minPackSizeDefault, int maxPackSizeDefault, int spawnWeightDefault, int baseEXPDefault, String... biomesDefault) {
         
         super("cursed_armor", EntityCursedArmor.class, EnumCreatureType.MONSTER, maxHealthDefault, speedDefault, armorDefault, attackDefault, maxInChunkDefault, minPackSizeDefault, maxPackSizeDefault, spawnWeightDefault, baseEXPDefault, biomesDefault);
     }
+    
+    @Override
+    public void syncConfig (Configuration config) {
+        
+        super.syncConfig(config);
+        
+        this.armorSetTable = new WeightedTable(config.getWeights("armorSetWeights", this.getName(), new int[] { 1, 1, 1, 1 }, "The spawn weights for each armor set, in the order iron, gold, chainmail, leather."));
+    }
+    
+    public WeightedTable getArmorSetTable () {
+        
+        return this.armorSetTable;
+    }
 }
\ No newline at end of file
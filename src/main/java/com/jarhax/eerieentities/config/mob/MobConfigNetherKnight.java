@@ -3,6 +3,7 @@ package com.jarhax.eerieentities.config.mob;
 import com.jarhax.eerieentities.Configuration;
 import com.jarhax.eerieentities.config.MobConfig;
 import com.jarhax.eerieentities.entities.EntityNetherKnight;
+import com.jarhax.eerieentities.util.WeightedTable;
 
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.ResourceLocation;
@@ -15,6 +16,7 @@ public class MobConfigNetherKnight extends MobConfig {
     private int[] spawnRange;
     private ResourceLocation[] reinforcementIDs;
     private float burnChance;
+    private WeightedTable runeWordTable;
     
     public MobConfigNetherKnight(double maxHealthDefault, double speedDefault, double armorDefault, double attackDefault, int maxInChunkDefault, int minPackSizeDefault, int maxPackSizeDefault, int spawnWeightDefault, int baseEXPDefault, String... biomesDefault) {
         
@@ -32,6 +34,7 @@ public class MobConfigNetherKnight extends MobConfig {
         this.spawnRange = config.getRange("ReinforcementSpawnRange", this.getName(), 0, 5, 0, 512, "the reinforcement spawn range.");
         this.reinforcementIDs = config.getResourceLocationList("reinforcementIDs", this.getName(), new String[] { "minecraft:wither_skeleton", "minecraft:blaze" }, "List of mob IDs that can spawn as reinforcements.");
         this.burnChance = config.getFloat("burnChance", this.getName(), 0.33f, 0f, 1f, "The chance that an attacker would be set on fire.");
+        this.runeWordTable = new WeightedTable(config.getWeights("runeWordWeights", this.getName(), new int[] { 1, 1, 1, 1, 1 }, "The spawn weights for each rune word on the shields, in the order they are defined."));
     }
     
     public float getReinforcementChance () {
@@ -63,4 +66,9 @@ public class MobConfigNetherKnight extends MobConfig {
         
         return this.burnChance;
     }
+    
+    public WeightedTable getRuneWordTable () {
+        
+        return this.runeWordTable;
+    }
 }
\ No newline at end of file
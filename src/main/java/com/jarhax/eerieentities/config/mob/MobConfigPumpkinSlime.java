@@ -3,6 +3,7 @@ package com.jarhax.eerieentities.config.mob;
 import com.jarhax.eerieentities.Configuration;
 import com.jarhax.eerieentities.config.MobConfig;
 import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
+import com.jarhax.eerieentities.util.WeightedTable;
 
 import net.minecraft.entity.EnumCreatureType;
 
@@ -12,6 +13,7 @@ public class MobConfigPumpkinSlime extends MobConfig {
     private float tameChance;
     private boolean dieInSunlight;
     private float solidifyChance;
+    private WeightedTable faceTable;
     
     public MobConfigPumpkinSlime(double maxHealthDefault, double speedDefault, double armorDefault, double attackDefault, int maxInChunkDefault, int minPackSizeDefault, int maxPackSizeDefault, int spawnWeightDefault, int baseEXPDefault, String... biomesDefault) {
         
@@ -27,6 +29,7 @@ public class MobConfigPumpkinSlime extends MobConfig {
         this.tameChance = config.getFloat("tameChance", this.getName(), 0.40f, 0f, 1f, "The chance that this mob will be tamed.");
         this.dieInSunlight = config.getBoolean("dieAtDay", this.getName(), true, "Should untamed versions of this mob die during the day?");
         this.solidifyChance = config.getFloat("revertChance", this.getName(), 0.30f, 0f, 1f, "The chance that this mob will revert into a pumpkin block during day.");
+        this.faceTable = new WeightedTable(config.getWeights("faceWeights", this.getName(), new int[] { 1, 1, 1, 1, 1, 1 }, "The spawn weights for each pumpkin face, in the order normal, creeper, owo, rawr, cyclops, surprised."));
     }
     
     public boolean isAllowTaming () {
@@ -48,4 +51,9 @@ public class MobConfigPumpkinSlime extends MobConfig {
         
         return this.solidifyChance;
     }
+    
+    public WeightedTable getFaceTable () {
+        
+        return this.faceTable;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.jarhax.eerieentities.config.mob;
+
+import com.jarhax.eerieentities.Configuration;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.entities.EntityWisp;
+import com.jarhax.eerieentities.entities.WispType;
+import com.jarhax.eerieentities.util.WeightedTable;
+
+import net.minecraft.entity.EnumCreatureType;
+
+public class MobConfigWisp extends MobConfig {
+    
+    private WeightedTable typeTable;
+    
+    public MobConfigWisp(double maxHealthDefault, double speedDefault, double armorDefault, double attackDefault, int maxInChunkDefault, int minPackSizeDefault, int maxPackSizeDefault, int spawnWeightDefault, int baseEXPDefault, String... biomesDefault) {
+        
+        super("will_o_wisp", EntityWisp.class, EnumCreatureType.AMBIENT, maxHealthDefault, speedDefault, armorDefault, attackDefault, maxInChunkDefault, minPackSizeDefault, maxPackSizeDefault, spawnWeightDefault, baseEXPDefault, biomesDefault);
+        
+        // Wisps never move on their own, so their position rarely needs to be sent again.
+        this.setTrackerDefaults(64, 20, false);
+    }
+    
+    @Override
+    public void syncConfig (Configuration config) {
+        
+        super.syncConfig(config);
+        
+        final int[] defaultWeights = new int[WispType.values().length];
+        
+        for (final WispType type : WispType.values()) {
+            
+            defaultWeights[type.ordinal()] = type.getWeight();
+        }
+        
+        this.typeTable = new WeightedTable(config.getWeights("typeWeights", this.getName(), defaultWeights, "The spawn weights for each wisp color, in the order blue, green, yellow, purple."));
+    }
+    
+    public WeightedTable getTypeTable () {
+        
+        return this.typeTable;
+    }
+}
@@ -2,10 +2,20 @@ package com.jarhax.eerieentities.entities;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.Multimap;
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.profiler.EventTrace;
+import com.jarhax.eerieentities.profiler.EventTrace.Type;
+import com.jarhax.eerieentities.profiler.Metrics;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+import com.jarhax.eerieentities.profiler.MobProfiler.Section;
+import com.jarhax.eerieentities.util.StateTag;
+import com.jarhax.eerieentities.world.SpawnTelemetry;
+import com.jarhax.eerieentities.world.SpawnTelemetry.Outcome;
 
 import net.darkhax.bookshelf.lib.Constants;
+import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.IEntityLivingData;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
@@ -15,6 +25,7 @@ import net.minecraft.entity.ai.EntityAIMoveTowardsRestriction;
 import net.minecraft.entity.ai.EntityAINearestAttackableTarget;
 import net.minecraft.entity.ai.EntityAIWanderAvoidWater;
 import net.minecraft.entity.ai.EntityAIWatchClosest;
+import net.minecraft.entity.ai.attributes.AttributeModifier;
 import net.minecraft.entity.ai.attributes.IAttributeInstance;
 import net.minecraft.entity.monster.EntityMob;
 import net.minecraft.entity.player.EntityPlayer;
@@ -23,6 +34,10 @@ import net.minecraft.init.SoundEvents;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.datasync.DataParameter;
+import net.minecraft.network.datasync.DataSerializers;
+import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
@@ -33,6 +48,32 @@ public class EntityCursedArmor extends EntityMob {
     
     private static Item[][] equipment = { { Items.IRON_BOOTS, Items.IRON_LEGGINGS, Items.IRON_CHESTPLATE, Items.IRON_HELMET, Items.IRON_SWORD }, { Items.GOLDEN_BOOTS, Items.GOLDEN_LEGGINGS, Items.GOLDEN_CHESTPLATE, Items.GOLDEN_HELMET, Items.GOLDEN_SWORD }, { Items.CHAINMAIL_BOOTS, Items.CHAINMAIL_LEGGINGS, Items.CHAINMAIL_CHESTPLATE, Items.CHAINMAIL_HELMET, Items.STONE_SWORD }, { Items.LEATHER_BOOTS, Items.LEATHER_LEGGINGS, Items.LEATHER_CHESTPLATE, Items.LEATHER_HELMET, Items.WOODEN_SWORD } };
     
+    /**
+     * The slots of each item in an equipment set, in the same order as {@link #equipment}.
+     */
+    private static final EntityEquipmentSlot[] SLOTS = { EntityEquipmentSlot.FEET, EntityEquipmentSlot.LEGS, EntityEquipmentSlot.CHEST, EntityEquipmentSlot.HEAD, EntityEquipmentSlot.MAINHAND };
+    
+    /**
+     * The synced equipment set. The lowest three bits hold the set index plus one, or zero for no
+     * set. Each of the next five bits is set while the matching slot still holds the item from
+     * the set. Clients build those items themselves, so the server keeps the slots empty and no
+     * equipment packets are sent for them. Once a slot is given a different item it is synced
+     * normally.
+     */
+    private static final DataParameter<Byte> ARMOR_SET = EntityDataManager.<Byte> createKey(EntityCursedArmor.class, DataSerializers.BYTE);
+    private static final int SET_MASK = 7;
+    private static final int SLOT_SHIFT = 3;
+    private static final int ALL_SLOTS = (1 << SLOTS.length) - 1;
+    
+    /**
+     * The items of each equipment set, built the first time a set is used. Every armor wearing a
+     * set points at the same stacks, so they must never be modified. Anything that needs its own
+     * copy, such as drops, has to copy them first.
+     */
+    private static final ItemStack[][] SET_STACKS = new ItemStack[equipment.length][];
+    
+    private ItemStack[] setStacks;
+    
     public EntityCursedArmor(World worldIn) {
         
         super(worldIn);
@@ -50,6 +91,219 @@ public class EntityCursedArmor extends EntityMob {
         this.targetTasks.addTask(2, new EntityAINearestAttackableTarget<>(this, EntityPlayer.class, true));
     }
     
+    @Override
+    protected void entityInit () {
+        
+        super.entityInit();
+        this.dataManager.register(ARMOR_SET, (byte) 0);
+    }
+    
+    @Override
+    public void notifyDataManagerChange (DataParameter<?> key) {
+        
+        super.notifyDataManagerChange(key);
+        
+        if (ARMOR_SET.equals(key)) {
+            
+            final int set = this.getArmorSet();
+            this.setStacks = set >= 0 && set < equipment.length ? getSetStacks(set) : null;
+        }
+    }
+    
+    private static ItemStack[] getSetStacks (int set) {
+        
+        ItemStack[] stacks = SET_STACKS[set];
+        
+        if (stacks == null) {
+            
+            stacks = new ItemStack[SLOTS.length];
+            
+            for (int index = 0; index < SLOTS.length; index++) {
+                
+                stacks[index] = new ItemStack(equipment[set][index]);
+            }
+            
+            SET_STACKS[set] = stacks;
+        }
+        
+        return stacks;
+    }
+    
+    /**
+     * Gets the equipment set this armor spawned with.
+     *
+     * @return The index of the set, or -1 if the armor has no set.
+     */
+    public int getArmorSet () {
+        
+        return (this.getArmorSetState() & SET_MASK) - 1;
+    }
+    
+    /**
+     * Dresses the armor in a full equipment set, replacing the set it had before.
+     *
+     * @param set The index of the set.
+     */
+    public void setArmorSet (int set) {
+        
+        this.setArmorSetState(set + 1 | ALL_SLOTS << SLOT_SHIFT);
+    }
+    
+    private int getArmorSetState () {
+        
+        return this.dataManager.get(ARMOR_SET).byteValue() & 0xFF;
+    }
+    
+    /**
+     * Changes the synced equipment set. On the server the attribute modifiers of the set items
+     * are moved over as well, since those items are not in the real slots.
+     */
+    private void setArmorSetState (int state) {
+        
+        if (!this.world.isRemote) {
+            
+            this.applySetModifiers(false);
+        }
+        
+        this.dataManager.set(ARMOR_SET, (byte) state);
+        
+        if (!this.world.isRemote) {
+            
+            this.applySetModifiers(true);
+        }
+    }
+    
+    private void applySetModifiers (boolean apply) {
+        
+        for (int index = 0; index < SLOTS.length; index++) {
+            
+            if (this.isFromSet(index)) {
+                
+                final Multimap<String, AttributeModifier> modifiers = this.setStacks[index].getAttributeModifiers(SLOTS[index]);
+                
+                if (apply) {
+                    
+                    this.getAttributeMap().applyAttributeModifiers(modifiers);
+                }
+                
+                else {
+                    
+                    this.getAttributeMap().removeAttributeModifiers(modifiers);
+                }
+            }
+        }
+    }
+    
+    private boolean isFromSet (int index) {
+        
+        return index >= 0 && this.setStacks != null && (this.getArmorSetState() >> SLOT_SHIFT & 1 << index) != 0;
+    }
+    
+    private static int getSetIndex (EntityEquipmentSlot slot) {
+        
+        for (int index = 0; index < SLOTS.length; index++) {
+            
+            if (SLOTS[index] == slot) {
+                
+                return index;
+            }
+        }
+        
+        return -1;
+    }
+    
+    @Override
+    public ItemStack getItemStackFromSlot (EntityEquipmentSlot slot) {
+        
+        final ItemStack stack = super.getItemStackFromSlot(slot);
+        
+        // The server leaves set slots empty, so they are never sent as equipment.
+        if (stack.isEmpty() && this.world.isRemote) {
+            
+            final int index = getSetIndex(slot);
+            
+            if (this.isFromSet(index)) {
+                
+                return this.setStacks[index];
+            }
+        }
+        
+        return stack;
+    }
+    
+    @Override
+    public void setItemStackToSlot (EntityEquipmentSlot slot, ItemStack stack) {
+        
+        if (!this.world.isRemote && this.setStacks != null) {
+            
+            final int index = getSetIndex(slot);
+            
+            // Anything put into a set slot replaces the item from the set.
+            if (this.isFromSet(index)) {
+                
+                this.setArmorSetState(this.getArmorSetState() & ~(1 << index + SLOT_SHIFT));
+            }
+        }
+        
+        super.setItemStackToSlot(slot, stack);
+    }
+    
+    @Override
+    protected void dropEquipment (boolean wasRecentlyHit, int lootingModifier) {
+        
+        super.dropEquipment(wasRecentlyHit, lootingModifier);
+        
+        for (int index = 0; index < SLOTS.length; index++) {
+            
+            if (this.isFromSet(index)) {
+                
+                final EntityEquipmentSlot slot = SLOTS[index];
+                final float chance = slot.getSlotType() == EntityEquipmentSlot.Type.HAND ? this.inventoryHandsDropChances[slot.getIndex()] : this.inventoryArmorDropChances[slot.getIndex()];
+                final boolean guaranteed = chance > 1.0F;
+                
+                // This is the same roll used for the equipment drops of other mobs.
+                if (!EnchantmentHelper.hasVanishingCurse(this.setStacks[index]) && (wasRecentlyHit || guaranteed) && this.rand.nextFloat() - lootingModifier * 0.01F < chance) {
+                    
+                    final ItemStack stack = this.setStacks[index].copy();
+                    
+                    if (!guaranteed && stack.isItemStackDamageable()) {
+                        
+                        stack.setItemDamage(stack.getMaxDamage() - this.rand.nextInt(1 + this.rand.nextInt(Math.max(stack.getMaxDamage() - 3, 1))));
+                    }
+                    
+                    this.entityDropItem(stack, 0.0F);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void writeEntityToNBT (NBTTagCompound compound) {
+        
+        super.writeEntityToNBT(compound);
+        StateTag.write(compound, this.getArmorSetState());
+    }
+    
+    @Override
+    public void readEntityFromNBT (NBTTagCompound compound) {
+        
+        super.readEntityFromNBT(compound);
+        
+        // Armor saved before sets were synced keeps its real items.
+        if (StateTag.hasState(compound)) {
+            
+            if (StateTag.getVersion(compound) == 1) {
+                
+                this.setArmorSetState(StateTag.read(compound) & 0xFF);
+            }
+            
+            else {
+                
+                StateTag.warnUnknownVersion(this, compound);
+            }
+        }
+    }
+    
     @Override
     public void applyEntityAttributes () {
         
@@ -64,35 +318,63 @@ public class EntityCursedArmor extends EntityMob {
         return Config.cursedArmor.getMaxInChunk();
     }
     
+    @Override
+    protected boolean isValidLightLevel () {
+        
+        return super.isValidLightLevel() || SpawnTelemetry.reject(Outcome.LIGHT);
+    }
+    
+    @Override
+    public void onLivingUpdate () {
+        
+        final long start = MobProfiler.start(this.world);
+        super.onLivingUpdate();
+        MobProfiler.stop(Config.cursedArmor, Section.LIVING_UPDATE, start);
+    }
+    
+    @Override
+    protected void updateAITasks () {
+        
+        final long start = MobProfiler.start(this.world);
+        super.updateAITasks();
+        MobProfiler.stop(Config.cursedArmor, Section.AI_TASKS, start);
+    }
+    
     @Override
     public boolean attackEntityFrom (DamageSource source, float amount) {
         
+        final long start = MobProfiler.start(this.world);
+        boolean attacked = false;
+        
         if (this.getTotalArmorValue() > 0) {
             
             if (!source.isFireDamage() && !source.isMagicDamage()) {
                 
                 final IAttributeInstance armor = this.getEntityAttribute(SharedMonsterAttributes.ARMOR);
                 armor.setBaseValue(armor.getBaseValue() - MathHelper.nextFloat(Constants.RANDOM, 0f, 3f));
+                EventTrace.record(Type.ARMOR_BREAK, this, this.getTotalArmorValue());
                 this.world.playSound(null, this.posX, this.posY, this.posZ, SoundEvents.ENTITY_ITEM_BREAK, this.getSoundCategory(), 0.8F, 0.8F + this.world.rand.nextFloat() * 0.4F);
             }
+        }
+        
+        else {
             
-            return false;
+            attacked = super.attackEntityFrom(source, amount);
         }
         
-        return super.attackEntityFrom(source, amount);
+        MobProfiler.stop(Config.cursedArmor, Section.ATTACKED, start);
+        return attacked;
     }
     
     @Override
     public IEntityLivingData onInitialSpawn (DifficultyInstance difficulty, @Nullable IEntityLivingData livingdata) {
         
+        final long start = MobProfiler.start(this.world);
         livingdata = super.onInitialSpawn(difficulty, livingdata);
         
-        final Item[] items = equipment[Constants.RANDOM.nextInt(equipment.length)];
-        this.setItemStackToSlot(EntityEquipmentSlot.HEAD, new ItemStack(items[3]));
-        this.setItemStackToSlot(EntityEquipmentSlot.CHEST, new ItemStack(items[2]));
-        this.setItemStackToSlot(EntityEquipmentSlot.LEGS, new ItemStack(items[1]));
-        this.setItemStackToSlot(EntityEquipmentSlot.FEET, new ItemStack(items[0]));
-        this.setItemStackToSlot(EntityEquipmentSlot.MAINHAND, new ItemStack(items[4]));
+        this.setArmorSet(Config.cursedArmor.getArmorSetTable().nextIndex(Constants.RANDOM));
+        Metrics.countSpawn(Config.cursedArmor);
+        MobProfiler.stop(Config.cursedArmor, Section.INITIAL_SPAWN, start);
         return livingdata;
     }
     
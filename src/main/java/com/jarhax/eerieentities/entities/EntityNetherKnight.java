@@ -1,11 +1,19 @@
 package com.jarhax.eerieentities.entities;
 
+import java.util.Random;
 import java.util.UUID;
 
 import javax.annotation.Nullable;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.profiler.EventTrace;
+import com.jarhax.eerieentities.profiler.EventTrace.Type;
+import com.jarhax.eerieentities.profiler.Metrics;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+import com.jarhax.eerieentities.profiler.MobProfiler.Section;
+import com.jarhax.eerieentities.util.EffectUtils;
+import com.jarhax.eerieentities.util.StateTag;
 
 import net.darkhax.bookshelf.data.AttributeOperation;
 import net.darkhax.bookshelf.lib.Constants;
@@ -42,6 +50,7 @@ import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
 public class EntityNetherKnight extends EntityMob {
@@ -52,6 +61,12 @@ public class EntityNetherKnight extends EntityMob {
     private static final AttributeModifier BUFF_ARMOR = new AttributeModifier(UUID.fromString("cb1a4e88-69d3-4ba4-a6de-ea98bc63114f"), "knight_buff_armor", Config.netherKnight.getBonusArmor(), AttributeOperation.ADDITIVE.ordinal());
     private static final AttributeModifier BUFF_HEALTH = new AttributeModifier(UUID.fromString("df154adf-523a-4523-bf02-08115e8a666f"), "knight_buff_health", Config.netherKnight.getBonusHealth(), AttributeOperation.ADDITIVE.ordinal());
     
+    /**
+     * The weakness given to knights in water. This is only ever copied or combined into the
+     * active effect, so it must never be modified.
+     */
+    private static final PotionEffect WET_WEAKNESS = new PotionEffect(MobEffects.WEAKNESS, 25);
+    
     public EntityNetherKnight(World world) {
         
         super(world);
@@ -83,8 +98,11 @@ public class EntityNetherKnight extends EntityMob {
     @Override
     public IEntityLivingData onInitialSpawn (DifficultyInstance difficulty, @Nullable IEntityLivingData livingdata) {
         
+        final long start = MobProfiler.start(this.world);
         livingdata = super.onInitialSpawn(difficulty, livingdata);
-        this.setRuneWord(Constants.RANDOM.nextInt(WORDS.length));
+        this.setRuneWord(Config.netherKnight.getRuneWordTable().nextIndex(Constants.RANDOM));
+        Metrics.countSpawn(Config.netherKnight);
+        MobProfiler.stop(Config.netherKnight, Section.INITIAL_SPAWN, start);
         return livingdata;
     }
     
@@ -92,14 +110,28 @@ public class EntityNetherKnight extends EntityMob {
     public void writeEntityToNBT (NBTTagCompound compound) {
         
         super.writeEntityToNBT(compound);
-        compound.setInteger("RuneWord", this.getRuneWord());
+        StateTag.write(compound, this.getRuneWord());
     }
     
     @Override
     public void readEntityFromNBT (NBTTagCompound compound) {
         
         super.readEntityFromNBT(compound);
-        this.setRuneWord(compound.getInteger("RuneWord"));
+        
+        if (!StateTag.hasState(compound)) {
+            
+            this.setRuneWord(compound.getInteger("RuneWord"));
+        }
+        
+        else if (StateTag.getVersion(compound) == 1) {
+            
+            this.setRuneWord(StateTag.read(compound));
+        }
+        
+        else {
+            
+            StateTag.warnUnknownVersion(this, compound);
+        }
     }
     
     @Override
@@ -155,6 +187,8 @@ public class EntityNetherKnight extends EntityMob {
     @Override
     public void onLivingUpdate () {
         
+        final long start = MobProfiler.start(this.world);
+        
         if (this.world.isRemote) {
             
             if (this.rand.nextInt(24) == 0 && !this.isSilent()) {
@@ -168,15 +202,20 @@ public class EntityNetherKnight extends EntityMob {
         }
         
         super.onLivingUpdate();
+        MobProfiler.stop(Config.netherKnight, Section.LIVING_UPDATE, start);
     }
     
     @Override
     protected void updateAITasks () {
         
+        final long start = MobProfiler.start(this.world);
+        
         if (this.isWet()) {
             
-            this.addPotionEffect(new PotionEffect(MobEffects.WEAKNESS, 25));
+            EffectUtils.maintainEffect(this, WET_WEAKNESS);
         }
+        
+        MobProfiler.stop(Config.netherKnight, Section.AI_TASKS, start);
     }
     
     @Override
@@ -200,6 +239,7 @@ public class EntityNetherKnight extends EntityMob {
     @Override
     public boolean attackEntityFrom (DamageSource source, float amount) {
         
+        final long start = MobProfiler.start(this.world);
         final Entity sourceEnt = source.getImmediateSource();
         
         if (!source.isUnblockable() && (source.isMagicDamage() || source.isProjectile() || source.isExplosion())) {
@@ -212,7 +252,9 @@ public class EntityNetherKnight extends EntityMob {
             sourceEnt.setFire(1);
         }
         
-        if (super.attackEntityFrom(source, amount)) {
+        final boolean attacked = super.attackEntityFrom(source, amount);
+        
+        if (attacked) {
             
             EntityLivingBase target = this.getAttackTarget();
             
@@ -225,40 +267,61 @@ public class EntityNetherKnight extends EntityMob {
             // If conditions are right, try to spawn reinforcements
             if (target != null && MathsUtils.tryPercentage(Config.netherKnight.getReinforcementChance())) {
                 
-                for (int attempt = 0; attempt < 25; attempt++) {
-                    
-                    final int[] range = Config.netherKnight.getSpawnRange();
-                    final int spawnOffsetX = MathHelper.getInt(this.rand, range[0], range[1]) * MathHelper.getInt(this.rand, -1, 1);
-                    final int spawnOffsetZ = MathHelper.getInt(this.rand, range[0], range[1]) * MathHelper.getInt(this.rand, -1, 1);
-                    final BlockPos spawnPos = this.getPosition().add(spawnOffsetX, -1, spawnOffsetZ);
-                    final IBlockState state = this.world.getBlockState(spawnPos);
+                final BlockPos spawnPos = findReinforcementPos(this.world, this.getPosition(), this.rand, Config.netherKnight.getSpawnRange());
+                
+                if (spawnPos != null) {
                     
-                    if (state != null && state.isSideSolid(this.world, spawnPos, EnumFacing.UP) && this.world.isAirBlock(spawnPos.up(2))) {
+                    try {
                         
-                        try {
-                            
-                            final EntityLiving reinforcement = (EntityLiving) EntityList.createEntityByIDFromName(Config.netherKnight.getReinforcementIDs()[Constants.RANDOM.nextInt(Config.netherKnight.getReinforcementIDs().length)], this.world);
-                            reinforcement.setPositionAndUpdate(spawnPos.getX() + 0.5f, this.posY, spawnPos.getZ() + 0.5f);
-                            reinforcement.setAttackTarget(target);
-                            this.world.spawnEntity(reinforcement);
-                            reinforcement.getEntityAttribute(SharedMonsterAttributes.ARMOR).applyModifier(BUFF_ARMOR);
-                            reinforcement.getEntityAttribute(SharedMonsterAttributes.MAX_HEALTH).applyModifier(BUFF_HEALTH);
-                            reinforcement.setHealth(reinforcement.getMaxHealth());
-                        }
-                        
-                        catch (final Exception e) {
-                            
-                            EerieEntities.LOG.catching(e);
-                        }
+                        final EntityLiving reinforcement = (EntityLiving) EntityList.createEntityByIDFromName(Config.netherKnight.getReinforcementIDs()[Constants.RANDOM.nextInt(Config.netherKnight.getReinforcementIDs().length)], this.world);
+                        reinforcement.setPositionAndUpdate(spawnPos.getX() + 0.5f, this.posY, spawnPos.getZ() + 0.5f);
+                        reinforcement.setAttackTarget(target);
+                        this.world.spawnEntity(reinforcement);
+                        reinforcement.getEntityAttribute(SharedMonsterAttributes.ARMOR).applyModifier(BUFF_ARMOR);
+                        reinforcement.getEntityAttribute(SharedMonsterAttributes.MAX_HEALTH).applyModifier(BUFF_HEALTH);
+                        reinforcement.setHealth(reinforcement.getMaxHealth());
+                        Metrics.countReinforcement();
+                        EventTrace.record(Type.KNIGHT_REINFORCEMENT, reinforcement, 0);
+                    }
+                    
+                    catch (final Exception e) {
                         
-                        break;
+                        EerieEntities.LOG.catching(e);
                     }
                 }
             }
+        }
+        
+        MobProfiler.stop(Config.netherKnight, Section.ATTACKED, start);
+        return attacked;
+    }
+    
+    /**
+     * Looks for a block near a position that a reinforcement can stand on, with two blocks of
+     * room above it.
+     *
+     * @param world The world to search in.
+     * @param origin The position to search around.
+     * @param rand The random used to pick spots.
+     * @param range The min and max distance of a spot on each axis.
+     * @return The block to stand on, or null if no spot was found in 25 tries.
+     */
+    @Nullable
+    public static BlockPos findReinforcementPos (IBlockAccess world, BlockPos origin, Random rand, int[] range) {
+        
+        for (int attempt = 0; attempt < 25; attempt++) {
             
-            return true;
+            final int spawnOffsetX = MathHelper.getInt(rand, range[0], range[1]) * MathHelper.getInt(rand, -1, 1);
+            final int spawnOffsetZ = MathHelper.getInt(rand, range[0], range[1]) * MathHelper.getInt(rand, -1, 1);
+            final BlockPos spawnPos = origin.add(spawnOffsetX, -1, spawnOffsetZ);
+            final IBlockState state = world.getBlockState(spawnPos);
+            
+            if (state != null && state.isSideSolid(world, spawnPos, EnumFacing.UP) && world.isAirBlock(spawnPos.up(2))) {
+                
+                return spawnPos;
+            }
         }
         
-        return false;
+        return null;
     }
 }
\ No newline at end of file
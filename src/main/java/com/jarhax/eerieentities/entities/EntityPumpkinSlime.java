@@ -4,15 +4,24 @@ import java.util.UUID;
 
 import javax.annotation.Nullable;
 
-import com.google.common.base.Optional;
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.block.BlockCarvedPumpkin.PumpkinType;
 import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.network.MessageSlimeOwner;
+import com.jarhax.eerieentities.profiler.EventTrace;
+import com.jarhax.eerieentities.profiler.EventTrace.Type;
+import com.jarhax.eerieentities.profiler.Metrics;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+import com.jarhax.eerieentities.profiler.MobProfiler.Section;
+import com.jarhax.eerieentities.util.StateTag;
+import com.jarhax.eerieentities.world.EffectBatcher;
+import com.jarhax.eerieentities.world.EffectBatcher.Effect;
+import com.jarhax.eerieentities.world.SpawnTelemetry;
+import com.jarhax.eerieentities.world.SpawnTelemetry.Outcome;
 
 import net.darkhax.bookshelf.lib.Constants;
 import net.darkhax.bookshelf.util.MathsUtils;
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockHorizontal;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IEntityLivingData;
@@ -21,6 +30,8 @@ import net.minecraft.entity.MoverType;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.monster.EntitySlime;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Biomes;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.init.SoundEvents;
@@ -38,17 +49,26 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.util.math.BlockPos.PooledMutableBlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
+import net.minecraftforge.common.util.FakePlayer;
 
 public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     
-    private static final DataParameter<Boolean> IS_BLOCK = EntityDataManager.<Boolean> createKey(EntityPumpkinSlime.class, DataSerializers.BOOLEAN);
-    private static final DataParameter<Integer> TYPE = EntityDataManager.<Integer> createKey(EntityPumpkinSlime.class, DataSerializers.VARINT);
-    private static final DataParameter<Optional<UUID>> OWNER = EntityDataManager.<Optional<UUID>> createKey(EntityPumpkinSlime.class, DataSerializers.OPTIONAL_UNIQUE_ID);
-    
+    /**
+     * The synced state of the slime. Bit 0 is the block form flag and bits 1 to 3 hold the
+     * pumpkin type. The owner is not synced here, only the owner is told about it through
+     * {@link MessageSlimeOwner}.
+     */
+    private static final DataParameter<Byte> STATE = EntityDataManager.<Byte> createKey(EntityPumpkinSlime.class, DataSerializers.BYTE);
+    private static final int FLAG_BLOCK = 1;
+    private static final int TYPE_SHIFT = 1;
+    private static final int TYPE_MASK = 7 << TYPE_SHIFT;
+    
+    private UUID ownerId;
     private float rotation = 0f;
     private boolean sitting = false;
     private boolean allowTaming = true;
@@ -61,22 +81,37 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     
     public int getType () {
         
-        return this.dataManager.get(TYPE).intValue();
+        return (this.getState() & TYPE_MASK) >> TYPE_SHIFT;
     }
     
     public void setType (int value) {
         
-        this.dataManager.set(TYPE, value);
+        this.setState(this.getState() & ~TYPE_MASK | value << TYPE_SHIFT & TYPE_MASK);
     }
     
     public void setBlock (boolean value) {
         
-        this.dataManager.set(IS_BLOCK, value);
+        this.setFlag(FLAG_BLOCK, value);
     }
     
     public boolean isBlock () {
         
-        return this.dataManager.get(IS_BLOCK).booleanValue();
+        return (this.getState() & FLAG_BLOCK) != 0;
+    }
+    
+    private int getState () {
+        
+        return this.dataManager.get(STATE).byteValue();
+    }
+    
+    private void setState (int state) {
+        
+        this.dataManager.set(STATE, (byte) state);
+    }
+    
+    private void setFlag (int flag, boolean value) {
+        
+        this.setState(value ? this.getState() | flag : this.getState() & ~flag);
     }
     
     public PumpkinType getPumpkinType () {
@@ -88,9 +123,7 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     public void entityInit () {
         
         super.entityInit();
-        this.dataManager.register(IS_BLOCK, false);
-        this.dataManager.register(TYPE, 0);
-        this.dataManager.register(OWNER, Optional.absent());
+        this.dataManager.register(STATE, (byte) 0);
     }
     
     @Override
@@ -104,14 +137,18 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     @Override
     public IEntityLivingData onInitialSpawn (DifficultyInstance difficulty, @Nullable IEntityLivingData livingdata) {
         
+        final long start = MobProfiler.start(this.world);
         livingdata = super.onInitialSpawn(difficulty, livingdata);
-        this.setType(Constants.RANDOM.nextInt(6));
+        this.setType(Config.pumpkinSlime.getFaceTable().nextIndex(Constants.RANDOM));
+        Metrics.countSpawn(Config.pumpkinSlime);
+        MobProfiler.stop(Config.pumpkinSlime, Section.INITIAL_SPAWN, start);
         return livingdata;
     }
     
     @Override
     public void onLivingUpdate () {
         
+        final long start = MobProfiler.start(this.world);
         super.onLivingUpdate();
         
         if (this.isServerWorld()) {
@@ -131,13 +168,39 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
                 // Slime has a chance to turn into a real pumpkin.
                 if (MathsUtils.tryPercentage(Config.pumpkinSlime.getSolidifyChance())) {
                     
-                    this.world.setBlockState(this.getPosition(), this.getPumpkinType().getNormal().getDefaultState().withProperty(BlockHorizontal.FACING, this.getHorizontalFacing()));
+                    this.world.setBlockState(this.getPosition(), this.getPumpkinType().getState(false, this.getHorizontalFacing()));
+                    EffectBatcher.play(this, Effect.SOLIDIFY);
+                    EventTrace.record(Type.SLIME_SOLIDIFY, this, this.getType());
+                }
+                
+                else {
+                    
+                    EffectBatcher.play(this, Effect.DESPAWN);
                 }
                 
                 this.setDead();
-                this.spawnExplosionParticle();
+                Metrics.countDawnDeath();
             }
         }
+        
+        MobProfiler.stop(Config.pumpkinSlime, Section.LIVING_UPDATE, start);
+    }
+    
+    @Override
+    protected void updateAITasks () {
+        
+        final long start = MobProfiler.start(this.world);
+        super.updateAITasks();
+        MobProfiler.stop(Config.pumpkinSlime, Section.AI_TASKS, start);
+    }
+    
+    @Override
+    public boolean attackEntityFrom (DamageSource source, float amount) {
+        
+        final long start = MobProfiler.start(this.world);
+        final boolean attacked = super.attackEntityFrom(source, amount);
+        MobProfiler.stop(Config.pumpkinSlime, Section.ATTACKED, start);
+        return attacked;
     }
     
     @Override
@@ -168,14 +231,20 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     
     private void transformToSlime () {
         
+        final long start = MobProfiler.start(this.world);
         this.setBlock(false);
+        Metrics.countTransform(false);
+        EventTrace.record(Type.SLIME_TO_SLIME, this, 0);
         
         // While in entity form, the chase range is increased to 24 blocks.
         this.getEntityAttribute(SharedMonsterAttributes.FOLLOW_RANGE).setBaseValue(16d);
+        MobProfiler.stop(Config.pumpkinSlime, Section.TRANSFORM_SLIME, start);
     }
     
     private void transformToBlock () {
         
+        final long start = MobProfiler.start(this.world);
+        
         if (!this.world.isRemote && this.world.getDifficulty() == EnumDifficulty.PEACEFUL && this.getOwnerId() == null) {
             
             this.isDead = true;
@@ -210,6 +279,8 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
             this.getEntityAttribute(SharedMonsterAttributes.FOLLOW_RANGE).setBaseValue(4.5d);
             
             this.setBlock(true);
+            Metrics.countTransform(true);
+            EventTrace.record(Type.SLIME_TO_BLOCK, this, 0);
         }
         
         // Force mob to look at the rotation direction.
@@ -227,21 +298,25 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
         this.setMoveForward(0f);
         this.setMoveStrafing(0f);
         this.setMoveVertical(0f);
+        MobProfiler.stop(Config.pumpkinSlime, Section.TRANSFORM_BLOCK, start);
     }
     
     @Override
     public void writeEntityToNBT (NBTTagCompound compound) {
         
         super.writeEntityToNBT(compound);
-        compound.setBoolean("IsBlockForm", this.isBlock());
-        compound.setInteger("Type", this.getType());
-        compound.setFloat("LookRotation", this.rotation);
-        compound.setBoolean("AllowTaming", this.allowTaming);
+        
+        // Bit 0 is the block form, bit 1 allows taming, bit 2 is sitting, bits 3 to 5 hold the
+        // type and bits 6 and 7 hold the rotation in quarter turns.
+        int state = this.getType() << 3 | (Math.round(this.rotation / 90f) & 3) << 6;
+        state |= this.isBlock() ? 1 : 0;
+        state |= this.allowTaming ? 1 << 1 : 0;
+        state |= this.isSitting() ? 1 << 2 : 0;
+        StateTag.write(compound, state);
         
         if (this.getOwnerId() != null) {
             
             compound.setUniqueId("Owner", this.getOwnerId());
-            compound.setBoolean("Sitting", this.isSitting());
         }
     }
     
@@ -249,16 +324,38 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     public void readEntityFromNBT (NBTTagCompound compound) {
         
         super.readEntityFromNBT(compound);
-        this.setBlock(compound.getBoolean("IsBlockForm"));
-        this.setType(compound.getInteger("Type"));
-        this.rotation = compound.getFloat("LookRotation");
-        this.allowTaming = compound.getBoolean("AllowTaming");
         
-        if (compound.hasKey("Owner")) {
+        if (StateTag.hasState(compound)) {
             
-            this.setOwnerId(compound.getUniqueId("Owner"));
+            if (StateTag.getVersion(compound) == 1) {
+                
+                final int state = StateTag.read(compound);
+                this.setBlock((state & 1) != 0);
+                this.allowTaming = (state & 1 << 1) != 0;
+                this.setSitting((state & 1 << 2) != 0);
+                this.setType(state >> 3 & 7);
+                this.rotation = (state >> 6 & 3) * 90f;
+            }
+            
+            else {
+                
+                StateTag.warnUnknownVersion(this, compound);
+            }
+        }
+        
+        else {
+            
+            this.setBlock(compound.getBoolean("IsBlockForm"));
+            this.setType(compound.getInteger("Type"));
+            this.rotation = compound.getFloat("LookRotation");
+            this.allowTaming = compound.getBoolean("AllowTaming");
             this.setSitting(compound.getBoolean("Sitting"));
         }
+        
+        if (compound.hasUniqueId("Owner")) {
+            
+            this.setOwnerId(compound.getUniqueId("Owner"));
+        }
     }
     
     @Override
@@ -310,6 +407,91 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
         return Config.pumpkinSlime.getMaxInChunk();
     }
     
+    /**
+     * The same check as {@link EntitySlime#getCanSpawnHere()}, with the same random rolls in the
+     * same order, split up so the reason a spawn failed can be recorded.
+     */
+    @Override
+    public boolean getCanSpawnHere () {
+        
+        if (this.world.getWorldInfo().getTerrainType().handleSlimeSpawnReduction(this.rand, this.world)) {
+            
+            return SpawnTelemetry.reject(Outcome.ROLL);
+        }
+        
+        if (this.world.getDifficulty() == EnumDifficulty.PEACEFUL) {
+            
+            return SpawnTelemetry.reject(Outcome.OTHER);
+        }
+        
+        final PooledMutableBlockPos pos = PooledMutableBlockPos.retain(MathHelper.floor(this.posX), 0, MathHelper.floor(this.posZ));
+        final boolean canSpawn = this.canSpawnInColumn(pos);
+        pos.release();
+        return canSpawn;
+    }
+    
+    /**
+     * The swamp and slime chunk checks of {@link #getCanSpawnHere()}. These run for every spawn
+     * attempt, so they reuse one position instead of creating new ones.
+     *
+     * @param pos A position in the column of the slime, which is moved by the checks.
+     * @return Whether the slime can spawn.
+     */
+    private boolean canSpawnInColumn (MutableBlockPos pos) {
+        
+        Outcome swamp = null;
+        
+        // Swamps spawn slimes between y 50 and 70, more often on brighter moons.
+        if (this.world.getBiome(pos) == Biomes.SWAMPLAND && this.posY > 50.0D && this.posY < 70.0D) {
+            
+            if (!(this.rand.nextFloat() < 0.5F && this.rand.nextFloat() < this.world.getCurrentMoonPhaseFactor())) {
+                
+                swamp = Outcome.ROLL;
+            }
+            
+            else if (this.world.getLightFromNeighbors(pos.setPos(this)) > this.rand.nextInt(8)) {
+                
+                swamp = Outcome.LIGHT;
+            }
+            
+            else {
+                
+                return this.canSpawnOnBlock(pos);
+            }
+        }
+        
+        // Slime chunks spawn slimes below y 40. This is still rolled after a failed swamp check,
+        // but can't pass at swamp heights, so the swamp reason is kept.
+        if (this.rand.nextInt(10) != 0) {
+            
+            return SpawnTelemetry.reject(swamp != null ? swamp : Outcome.ROLL);
+        }
+        
+        if (this.world.getChunk(pos).getRandomWithSeed(987234911L).nextInt(10) != 0) {
+            
+            return SpawnTelemetry.reject(swamp != null ? swamp : Outcome.CHUNK);
+        }
+        
+        if (this.posY >= 40.0D) {
+            
+            return SpawnTelemetry.reject(swamp != null ? swamp : Outcome.HEIGHT);
+        }
+        
+        return this.canSpawnOnBlock(pos);
+    }
+    
+    /**
+     * The check from {@link net.minecraft.entity.EntityLiving#getCanSpawnHere()}, which the slime
+     * check ends with.
+     *
+     * @param pos A position to move to the block below the slime.
+     * @return Whether the slime can spawn on the block below it.
+     */
+    private boolean canSpawnOnBlock (MutableBlockPos pos) {
+        
+        return this.world.getBlockState(pos.setPos(this).move(EnumFacing.DOWN)).canEntitySpawn(this) || SpawnTelemetry.reject(Outcome.BLOCK);
+    }
+    
     @Override
     protected void setSize (float width, float height) {
         
@@ -326,13 +508,27 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     
     public void setOwnerId (@Nullable UUID ownerId) {
         
-        this.dataManager.set(OWNER, Optional.fromNullable(ownerId));
+        this.ownerId = ownerId;
     }
     
+    /**
+     * Gets the id of the owner. On the client this is only known by the owner.
+     */
     @Override
     public UUID getOwnerId () {
         
-        return this.dataManager.get(OWNER).orNull();
+        return this.ownerId;
+    }
+    
+    @Override
+    public void addTrackingPlayer (EntityPlayerMP player) {
+        
+        super.addTrackingPlayer(player);
+        
+        if (this.isOwner(player)) {
+            
+            EerieEntities.NETWORK.sendTo(new MessageSlimeOwner(this.getEntityId(), true), player);
+        }
     }
     
     @Override
@@ -401,6 +597,12 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
                     if (MathsUtils.tryPercentage(Config.pumpkinSlime.getTameChance())) {
                         
                         this.setOwnerId(player.getPersistentID());
+                        
+                        if (player instanceof EntityPlayerMP && !(player instanceof FakePlayer)) {
+                            
+                            EerieEntities.NETWORK.sendTo(new MessageSlimeOwner(this.getEntityId(), true), (EntityPlayerMP) player);
+                        }
+                        
                         this.playTameEffect(true);
                     }
                     
@@ -433,13 +635,6 @@ public class EntityPumpkinSlime extends EntitySlime implements IEntityOwnable {
     
     private void playTameEffect (boolean succeeded) {
         
-        final EnumParticleTypes enumparticletypes = succeeded ? EnumParticleTypes.HEART : EnumParticleTypes.SMOKE_NORMAL;
-        
-        for (int i = 0; i < 7; ++i) {
-            final double d0 = this.rand.nextGaussian() * 0.02D;
-            final double d1 = this.rand.nextGaussian() * 0.02D;
-            final double d2 = this.rand.nextGaussian() * 0.02D;
-            this.world.spawnParticle(enumparticletypes, this.posX + this.rand.nextFloat() * this.width * 2.0F - this.width, this.posY + 0.5D + this.rand.nextFloat() * this.height, this.posZ + this.rand.nextFloat() * this.width * 2.0F - this.width, d0, d1, d2);
-        }
+        EffectBatcher.play(this, succeeded ? Effect.TAME_SUCCESS : Effect.TAME_FAIL);
     }
 }
\ No newline at end of file
@@ -7,8 +7,18 @@ import javax.annotation.Nullable;
 
 import com.jarhax.eerieentities.EerieEntities;
 import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.profiler.EventTrace;
+import com.jarhax.eerieentities.profiler.EventTrace.Type;
+import com.jarhax.eerieentities.profiler.Metrics;
+import com.jarhax.eerieentities.profiler.MobProfiler;
+import com.jarhax.eerieentities.profiler.MobProfiler.Section;
+import com.jarhax.eerieentities.util.StateTag;
+import com.jarhax.eerieentities.world.SpawnSuitabilityCache;
+import com.jarhax.eerieentities.world.SpawnTelemetry;
+import com.jarhax.eerieentities.world.SpawnTelemetry.Outcome;
 
-import net.darkhax.bookshelf.util.MathsUtils;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.darkhax.bookshelf.lib.Constants;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
@@ -18,8 +28,11 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.datasync.DataParameter;
 import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
+import net.minecraft.pathfinding.PathNavigate;
+import net.minecraft.util.DamageSource;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.PooledMutableBlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.EnumSkyBlock;
@@ -27,10 +40,19 @@ import net.minecraft.world.World;
 
 public class EntityWisp extends EntityLiving {
     
-    private BlockPos spawnPosition;
-    private static final DataParameter<Integer> TYPE = EntityDataManager.<Integer> createKey(EntityWisp.class, DataSerializers.VARINT);
-    private static final DataParameter<Byte> DAY = EntityDataManager.<Byte> createKey(EntityWisp.class, DataSerializers.BYTE);
-    private static final DataParameter<Byte> MONTH = EntityDataManager.<Byte> createKey(EntityWisp.class, DataSerializers.BYTE);
+    /**
+     * The synced state of the wisp. The lowest byte holds the type, the next byte holds the day
+     * it spawned on, and the byte after that holds the month it spawned in.
+     */
+    private static final DataParameter<Integer> STATE = EntityDataManager.<Integer> createKey(EntityWisp.class, DataSerializers.VARINT);
+    
+    /**
+     * The current date, cached until the next midnight so spawning a wisp does not create a new
+     * calendar each time.
+     */
+    private static byte today;
+    private static byte thisMonth;
+    private static long nextMidnight;
     
     public EntityWisp(World worldIn) {
         
@@ -39,6 +61,12 @@ public class EntityWisp extends EntityLiving {
         this.isImmuneToFire = true;
     }
     
+    @Override
+    protected PathNavigate createNavigator (World worldIn) {
+        
+        return new PathNavigateNone(this, worldIn);
+    }
+    
     @Override
     public void applyEntityAttributes () {
         
@@ -49,65 +77,98 @@ public class EntityWisp extends EntityLiving {
     
     public int getType () {
         
-        return this.dataManager.get(TYPE).intValue();
+        return this.dataManager.get(STATE).intValue() & 0xFF;
     }
     
     public void setType (int value) {
         
-        this.dataManager.set(TYPE, value);
+        this.dataManager.set(STATE, this.dataManager.get(STATE).intValue() & ~0xFF | value & 0xFF);
     }
     
     public byte getDay() {
         
-        return this.dataManager.get(DAY);
+        return (byte) (this.dataManager.get(STATE).intValue() >> 8);
     }
     
     public byte getMonth() {
         
-        return this.dataManager.get(MONTH);
+        return (byte) (this.dataManager.get(STATE).intValue() >> 16);
     }
     
     private void setSpawnDate(byte day, byte month) {
         
-        this.dataManager.set(DAY, day);
-        this.dataManager.set(MONTH, month);
+        this.dataManager.set(STATE, this.getType() | (day & 0xFF) << 8 | (month & 0xFF) << 16);
     }
     
     @Override
     protected void entityInit () {
         
         super.entityInit();
-        this.dataManager.register(TYPE, 0);
-        this.dataManager.register(DAY, (byte) 0);
-        this.dataManager.register(MONTH, (byte) 0);
+        this.dataManager.register(STATE, 0);
     }
     
     @Override
     public IEntityLivingData onInitialSpawn (DifficultyInstance difficulty, @Nullable IEntityLivingData livingdata) {
         
+        final long start = MobProfiler.start(this.world);
         livingdata = super.onInitialSpawn(difficulty, livingdata);
-        this.setType(WispType.selector.getRandomEntry().getEntry().ordinal());
-
-        final Calendar now = Calendar.getInstance();
-        this.setSpawnDate((byte) now.get(Calendar.DAY_OF_MONTH), (byte) (now.get(Calendar.MONTH) + 1));
+        this.setType(Config.wisp.getTypeTable().nextIndex(Constants.RANDOM));
+        
+        updateDate();
+        this.setSpawnDate(today, thisMonth);
+        Metrics.countSpawn(Config.wisp);
+        MobProfiler.stop(Config.wisp, Section.INITIAL_SPAWN, start);
         return livingdata;
     }
     
+    private static void updateDate () {
+        
+        if (System.currentTimeMillis() >= nextMidnight) {
+            
+            final Calendar now = Calendar.getInstance();
+            today = (byte) now.get(Calendar.DAY_OF_MONTH);
+            thisMonth = (byte) (now.get(Calendar.MONTH) + 1);
+            
+            now.set(Calendar.HOUR_OF_DAY, 0);
+            now.set(Calendar.MINUTE, 0);
+            now.set(Calendar.SECOND, 0);
+            now.set(Calendar.MILLISECOND, 0);
+            now.add(Calendar.DAY_OF_MONTH, 1);
+            nextMidnight = now.getTimeInMillis();
+        }
+    }
+    
     @Override
     public void readEntityFromNBT (NBTTagCompound compound) {
         
         super.readEntityFromNBT(compound);
-        this.setType(compound.getInteger("Type"));
-        this.setSpawnDate(compound.getByte("Day"), compound.getByte("Month"));
+        
+        if (StateTag.hasState(compound)) {
+            
+            if (StateTag.getVersion(compound) == 1) {
+                
+                // The packed state uses the same layout as the synced state.
+                this.dataManager.set(STATE, StateTag.read(compound) & 0xFFFFFF);
+            }
+            
+            else {
+                
+                StateTag.warnUnknownVersion(this, compound);
+            }
+        }
+        
+        else {
+            
+            this.setType(compound.getInteger("Type"));
+            this.setSpawnDate(compound.getByte("Day"), compound.getByte("Month"));
+        }
     }
     
     @Override
     public void writeEntityToNBT (NBTTagCompound compound) {
         
         super.writeEntityToNBT(compound);
-        compound.setInteger("Type", this.getType());
-        compound.setByte("Day", this.getDay());
-        compound.setByte("Month", this.getMonth());
+        StateTag.write(compound, this.dataManager.get(STATE).intValue());
     }
     
     @Override
@@ -122,6 +183,15 @@ public class EntityWisp extends EntityLiving {
         return EerieEntities.LOOT_WISP;
     }
     
+    @Override
+    public boolean attackEntityFrom (DamageSource source, float amount) {
+        
+        final long start = MobProfiler.start(this.world);
+        final boolean attacked = super.attackEntityFrom(source, amount);
+        MobProfiler.stop(Config.wisp, Section.ATTACKED, start);
+        return attacked;
+    }
+    
     @Override
     public boolean canBePushed () {
         
@@ -142,58 +212,60 @@ public class EntityWisp extends EntityLiving {
     @Override
     public boolean getCanSpawnHere () {
         
-        return super.getCanSpawnHere() && this.isValidLightLevel() && !this.world.isRaining();
-    }
-    
-    protected boolean isValidLightLevel () {
-        
-        final BlockPos blockpos = new BlockPos(this.posX, this.getEntityBoundingBox().minY, this.posZ);
+        if (!super.getCanSpawnHere()) {
+            
+            return SpawnTelemetry.reject(Outcome.BLOCK);
+        }
         
-        if (MathsUtils.tryPercentage(0.45)) {
+        if (!this.isValidLightLevel()) {
             
-            return false;
+            return SpawnTelemetry.reject(Outcome.LIGHT);
         }
         
-        if (this.world.getLightFor(EnumSkyBlock.SKY, blockpos) > this.rand.nextInt(32)) {
+        return !this.world.isRaining() || SpawnTelemetry.reject(Outcome.RAIN);
+    }
+    
+    /**
+     * Checks if a wisp could spawn at a position before the entity is constructed. This rejects
+     * rain, the random spawn roll, and sections which are too bright everywhere, using the cached
+     * light summaries instead of reading the light at the position. The roll is seeded from the
+     * position and world time so it is stable for a single spawn attempt.
+     *
+     * @param world The world being spawned in.
+     * @param suitability The light summaries for the world.
+     * @param pos The position of the spawn attempt.
+     * @return Why a wisp can not spawn at the position, or {@link Outcome#ACCEPTED} if it may.
+     */
+    public static Outcome checkRegion (World world, SpawnSuitabilityCache suitability, BlockPos pos) {
+        
+        if (world.isRaining()) {
             
-            return false;
+            return Outcome.RAIN;
         }
         
-        else {
+        final long seed = HashCommon.mix(MathHelper.getPositionRandom(pos) ^ world.getTotalWorldTime());
+        
+        if ((seed >>> 11) * 0x1.0p-53 < 0.45) {
             
-            return this.world.getLightFromNeighbors(blockpos) <= this.rand.nextInt(8);
+            return Outcome.ROLL;
         }
+        
+        return suitability.isTooBright(pos, 7) ? Outcome.LIGHT : Outcome.ACCEPTED;
     }
     
-    @Override
-    public void onUpdate () {
+    protected boolean isValidLightLevel () {
         
-        super.onUpdate();
-        this.motionY *= 0.06;
+        final PooledMutableBlockPos blockpos = PooledMutableBlockPos.retain(this.posX, this.getEntityBoundingBox().minY, this.posZ);
+        final boolean valid = this.world.getLightFor(EnumSkyBlock.SKY, blockpos) <= this.rand.nextInt(32) && this.world.getLightFromNeighbors(blockpos) <= this.rand.nextInt(8);
+        blockpos.release();
+        return valid;
     }
     
     @Override
-    protected void updateAITasks () {
-        
-        super.updateAITasks();
-        if (this.spawnPosition != null && (!this.world.isAirBlock(this.spawnPosition) || this.spawnPosition.getY() < 1)) {
-            this.spawnPosition = null;
-        }
-        
-        if (this.spawnPosition == null || this.rand.nextInt(30) == 0 || this.spawnPosition.distanceSq((int) this.posX, (int) this.posY, (int) this.posZ) < 4.0D) {
-            this.spawnPosition = new BlockPos((int) this.posX + this.rand.nextInt(7) - this.rand.nextInt(7), (int) this.posY + this.rand.nextInt(6) - 2, (int) this.posZ + this.rand.nextInt(7) - this.rand.nextInt(7));
-        }
+    public void onUpdate () {
         
-        final double d0 = this.spawnPosition.getX() + 0.1D - this.posX;
-        final double d1 = this.spawnPosition.getY() + 0.1D - this.posY;
-        final double d2 = this.spawnPosition.getZ() + 0.1D - this.posZ;
-        this.motionX += (Math.signum(d0) * 0.05D - this.motionX) * 0.05D;
-        this.motionY += (Math.signum(d1) * 0.08D - this.motionY) * 0.08D;
-        this.motionZ += (Math.signum(d2) * 0.05D - this.motionZ) * 0.05D;
-        final float f = (float) (MathHelper.atan2(this.motionZ, this.motionX) * (180D / Math.PI)) - 90.0F;
-        final float f1 = MathHelper.wrapDegrees(f - this.rotationYaw);
-        this.moveForward = 0.05F;
-        this.rotationYaw += f1;
+        super.onUpdate();
+        this.motionY *= 0.06;
     }
     
     @Override
@@ -229,9 +301,18 @@ public class EntityWisp extends EntityLiving {
     @Override
     public void onLivingUpdate() {
         
-        if (this.world.isDaytime() && !this.world.isRemote) {
+        final long start = MobProfiler.start(this.world);
+        
+        if (!this.world.isRemote) {
             
-            this.setDead();
+            if (this.world.isDaytime()) {
+                
+                this.setDead();
+                Metrics.countDawnDeath();
+                EventTrace.record(Type.WISP_DESPAWN, this, 0);
+            }
         }
+        
+        MobProfiler.stop(Config.wisp, Section.LIVING_UPDATE, start);
     }
 }
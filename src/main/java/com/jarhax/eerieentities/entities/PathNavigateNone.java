@@ -0,0 +1,47 @@
+package com.jarhax.eerieentities.entities;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.pathfinding.PathFinder;
+import net.minecraft.pathfinding.PathNavigate;
+import net.minecraft.pathfinding.WalkNodeProcessor;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+/**
+ * A navigator for mobs that move themselves and never look for a path. Every living mob is given
+ * a navigator, and the default one allocates a full path finder with its node heap and caches.
+ * This one never navigates, so all of them point at a single path finder which is never used.
+ */
+public class PathNavigateNone extends PathNavigate {
+    
+    private static final PathFinder UNUSED = new PathFinder(new WalkNodeProcessor());
+    
+    public PathNavigateNone(EntityLiving entity, World world) {
+        
+        super(entity, world);
+    }
+    
+    @Override
+    protected PathFinder getPathFinder () {
+        
+        return UNUSED;
+    }
+    
+    @Override
+    protected Vec3d getEntityPosition () {
+        
+        return new Vec3d(this.entity.posX, this.entity.posY, this.entity.posZ);
+    }
+    
+    @Override
+    protected boolean canNavigate () {
+        
+        return false;
+    }
+    
+    @Override
+    protected boolean isDirectPathBetweenPoints (Vec3d start, Vec3d end, int sizeX, int sizeY, int sizeZ) {
+        
+        return false;
+    }
+}
@@ -1,7 +1,5 @@
 package com.jarhax.eerieentities.entities;
 
-import net.darkhax.bookshelf.lib.WeightedSelector;
-
 public enum WispType {
     
     BLUE(10, 0, 1, 1),
@@ -9,15 +7,7 @@ public enum WispType {
     YELLOW(2, 1, 1, 0),
     PURPLE(1, 1, 0, 1);
     
-    public static WeightedSelector<WispType> selector = new WeightedSelector<>();
-    
-    static {
-        
-        for (final WispType type : WispType.values()) {
-            
-            selector.addEntry(type, type.weight);
-        }
-    }
+    private static final WispType[] VALUES = values();
     
     private final int weight;
     private final int red;
@@ -32,6 +22,22 @@ public enum WispType {
         this.blue = blue;
     }
     
+    /**
+     * Gets a wisp type by its ordinal without copying the values array.
+     *
+     * @param ordinal The ordinal of the type.
+     * @return The wisp type.
+     */
+    public static WispType byOrdinal (int ordinal) {
+        
+        return VALUES[ordinal];
+    }
+    
+    public int getWeight () {
+        
+        return this.weight;
+    }
+    
     public int getRed () {
         
         return this.red;
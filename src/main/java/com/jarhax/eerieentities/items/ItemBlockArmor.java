@@ -7,21 +7,18 @@ import com.jarhax.eerieentities.client.ClientEvents;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
-import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-public class ItemBlockArmor extends ItemBlock {
+public class ItemBlockArmor extends ItemBlockPumpkin {
     
     private final EntityEquipmentSlot slot;
-    private final PumpkinType pumpkinType;
     
-    public ItemBlockArmor(EntityEquipmentSlot slot, BlockCarvedPumpkin block, PumpkinType pumpkinType) {
+    public ItemBlockArmor(EntityEquipmentSlot slot, BlockCarvedPumpkin block) {
         
         super(block);
         this.slot = slot;
-        this.pumpkinType = pumpkinType;
     }
     
     @Override
@@ -34,6 +31,11 @@ public class ItemBlockArmor extends ItemBlock {
     @SideOnly(Side.CLIENT)
     public void renderHelmetOverlay (ItemStack stack, EntityPlayer player, ScaledResolution resolution, float partialTicks) {
         
-        ClientEvents.renderPumpkinOverlay(resolution, this.pumpkinType.getOverlayTexture());
+        final PumpkinType type = this.getType(stack);
+        
+        if (type != null) {
+            
+            ClientEvents.renderPumpkinOverlay(resolution, type.getOverlayTexture());
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.jarhax.eerieentities.items;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.block.BlockCarvedPumpkin;
+import com.jarhax.eerieentities.block.BlockCarvedPumpkin.PumpkinType;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemBlock;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+public class ItemBlockPumpkin extends ItemBlock {
+    
+    private final int page;
+    
+    public ItemBlockPumpkin(BlockCarvedPumpkin block) {
+        
+        super(block);
+        this.page = block.getPage();
+        this.setHasSubtypes(true);
+        this.setMaxDamage(0);
+    }
+    
+    @Override
+    public int getMetadata (int damage) {
+        
+        return damage & 3;
+    }
+    
+    /**
+     * Gets the carved type of a pumpkin stack.
+     *
+     * @param stack The stack to get the type of.
+     * @return The type, or null if no type uses the damage of the stack.
+     */
+    @Nullable
+    public PumpkinType getType (ItemStack stack) {
+        
+        return PumpkinType.byPage(this.page, stack.getMetadata() & 3);
+    }
+    
+    @Override
+    public boolean placeBlockAt (ItemStack stack, EntityPlayer player, World world, BlockPos pos, EnumFacing side, float hitX, float hitY, float hitZ, IBlockState newState) {
+        
+        // Stacks with a damage that has no type, such as from commands, can't be placed.
+        return this.getType(stack) != null && super.placeBlockAt(stack, player, world, pos, side, hitX, hitY, hitZ, newState);
+    }
+}
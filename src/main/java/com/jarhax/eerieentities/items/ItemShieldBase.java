@@ -1,5 +1,11 @@
 package com.jarhax.eerieentities.items;
 
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.world.WorldTracker;
+
 import net.minecraft.block.BlockDispenser;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
@@ -14,7 +20,9 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.living.LivingAttackEvent;
+import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 // TODO move this class to bookshelf.
@@ -63,10 +71,83 @@ public class ItemShieldBase extends Item {
     @SubscribeEvent
     public static void onAttack (LivingAttackEvent event) {
         
-        if (event.getEntityLiving().getActiveItemStack().getItem() instanceof ItemShieldBase && !event.getSource().isUnblockable()) {
+        final EntityLivingBase entity = event.getEntityLiving();
+        final Set<EntityLivingBase> blocking = getBlocking(entity);
+        
+        if (blocking == null || !blocking.contains(entity)) {
+            
+            return;
+        }
+        
+        final Item item = entity.getActiveItemStack().getItem();
+        
+        // The entity can stop using the shield without a stop event, such as when it is disabled
+        // by an axe or the held item is swapped.
+        if (!(item instanceof ItemShieldBase)) {
+            
+            blocking.remove(entity);
+        }
+        
+        else if (!event.getSource().isUnblockable()) {
+            
+            ((ItemShieldBase) item).blockDamage(entity, event.getSource(), event.getAmount());
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onUseStart (LivingEntityUseItemEvent.Start event) {
+        
+        if (event.getItem().getItem() instanceof ItemShieldBase && event.getDuration() > 0) {
+            
+            final Set<EntityLivingBase> blocking = getBlocking(event.getEntityLiving());
+            
+            if (blocking != null) {
+                
+                blocking.add(event.getEntityLiving());
+            }
+        }
+    }
+    
+    @SubscribeEvent(receiveCanceled = true)
+    public static void onUseStop (LivingEntityUseItemEvent.Stop event) {
+        
+        stopBlocking(event.getEntityLiving());
+    }
+    
+    @SubscribeEvent
+    public static void onUseFinish (LivingEntityUseItemEvent.Finish event) {
+        
+        stopBlocking(event.getEntityLiving());
+    }
+    
+    private static void stopBlocking (EntityLivingBase entity) {
+        
+        final Set<EntityLivingBase> blocking = getBlocking(entity);
+        
+        if (blocking != null) {
             
-            final ItemShieldBase shield = (ItemShieldBase) event.getEntityLiving().getActiveItemStack().getItem();
-            shield.blockDamage(event.getEntityLiving(), event.getSource(), event.getAmount());
+            blocking.remove(entity);
         }
     }
+    
+    /**
+     * Gets the entities which are blocking with a shield in the world of an entity. These are
+     * only tracked on the server, so {@link #onAttack(LivingAttackEvent)}, which runs for every
+     * attack in the game, can skip every entity that is not blocking without looking at its
+     * active item. Each world has its own set, so the client and server threads never share one.
+     *
+     * @param entity The entity to get the blocking entities around.
+     * @return The blocking entities in the world, or null on the client.
+     */
+    @Nullable
+    private static Set<EntityLivingBase> getBlocking (EntityLivingBase entity) {
+        
+        if (entity.world.isRemote) {
+            
+            return null;
+        }
+        
+        final WorldTracker tracker = WorldTracker.get(entity.world);
+        return tracker != null ? tracker.getBlocking() : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,469 @@
+package com.jarhax.eerieentities.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.world.WorldTracker;
+import com.mojang.authlib.GameProfile;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.common.util.FakePlayerFactory;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Runs a load test on a dedicated server started with the eerieentities.loadtest system
+ * property, which points to a scenario file. The runServer Gradle task sets this up when given
+ * -PloadTest=&lt;scenario&gt;. The scenario is a properties file with these keys:
+ *
+ * <ul>
+ * <li>name - The name of the run, used for the report file.</li>
+ * <li>ticks - The amount of ticks to measure.</li>
+ * <li>warmup - The amount of ticks to run before measuring.</li>
+ * <li>dayNightPeriod - The amount of ticks between forced sunrises and sunsets.</li>
+ * <li>radius - The distance from spawn that mobs and players are placed in.</li>
+ * <li>players - The amount of fake players which walk in circles around spawn.</li>
+ * <li>refill - Whether or not mobs are spawned back up to their count at each sunset.</li>
+ * <li>&lt;mob name&gt; - The amount of a mob to spawn, for example will_o_wisp=500.</li>
+ * </ul>
+ *
+ * When the run is done a JSON report is written to eerieentities/loadtests and the server is
+ * stopped.
+ */
+@EventBusSubscriber
+public class LoadTest {
+    
+    public static final String PROPERTY = "eerieentities.loadtest";
+    
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    
+    private static LoadTest running;
+    
+    private final MinecraftServer server;
+    private final WorldServer world;
+    private final Properties scenario;
+    private final int ticks;
+    private final int warmup;
+    private final int dayNightPeriod;
+    private final int radius;
+    private final boolean refill;
+    private final int[] targets = new int[MobConfig.mobConfigs.size()];
+    private final List<FakePlayer> players = new ArrayList<>();
+    
+    private final long[] tickNanos;
+    private final int[] startCounts = new int[this.targets.length];
+    private final int[] minCounts = new int[this.targets.length];
+    private final int[] maxCounts = new int[this.targets.length];
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    
+    private int tick;
+    private long tickStart;
+    private long allocatedStart;
+    private long allocatedBytes = -1;
+    private long gcCountStart;
+    private long gcTimeStart;
+    private int sunrises;
+    private int sunsets;
+    
+    private LoadTest(MinecraftServer server, Properties scenario) {
+        
+        this.server = server;
+        this.world = server.getWorld(0);
+        this.scenario = scenario;
+        this.ticks = Math.max(Integer.parseInt(scenario.getProperty("ticks", "2400")), 1);
+        this.warmup = Math.max(Integer.parseInt(scenario.getProperty("warmup", "200")), 0);
+        this.dayNightPeriod = Integer.parseInt(scenario.getProperty("dayNightPeriod", "600"));
+        this.radius = Math.min(Integer.parseInt(scenario.getProperty("radius", "48")), 128);
+        this.refill = Boolean.parseBoolean(scenario.getProperty("refill", "true"));
+        this.tickNanos = new long[this.ticks];
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            this.targets[config.getId()] = Integer.parseInt(scenario.getProperty(config.getName(), "0"));
+        }
+        
+        Arrays.fill(this.minCounts, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Starts the load test if the server was started with a scenario.
+     *
+     * @param server The server which just started.
+     */
+    public static void start (MinecraftServer server) {
+        
+        final String path = System.getProperty(PROPERTY);
+        
+        if (path == null || running != null) {
+            
+            return;
+        }
+        
+        final Properties scenario = new Properties();
+        
+        try (Reader reader = Files.newBufferedReader(new File(path).toPath(), StandardCharsets.UTF_8)) {
+            
+            scenario.load(reader);
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.error("Could not read the load test scenario " + path + ". " + e.getMessage());
+            server.initiateShutdown();
+            return;
+        }
+        
+        running = new LoadTest(server, scenario);
+        running.setup();
+        EerieEntities.LOG.info("Started load test " + scenario.getProperty("name", "loadtest") + " for " + running.ticks + " ticks.");
+    }
+    
+    private void setup () {
+        
+        final int playerCount = Integer.parseInt(this.scenario.getProperty("players", "4"));
+        
+        for (int index = 0; index < playerCount; index++) {
+            
+            final FakePlayer player = FakePlayerFactory.get(this.world, new GameProfile(UUID.nameUUIDFromBytes(("eerie_loadtest_" + index).getBytes(StandardCharsets.UTF_8)), "eerie_loadtest_" + index));
+            
+            // The players are only listed in the world so mobs can find and target them. They
+            // are never ticked, but the world sends them packets like any other player.
+            if (player.connection == null) {
+                
+                player.connection = new DiscardingConnection(this.server, player);
+            }
+            
+            this.world.playerEntities.add(player);
+            this.players.add(player);
+        }
+        
+        this.setNight(true);
+    }
+    
+    private void setNight (boolean night) {
+        
+        final long day = this.world.getWorldTime() / 24000L * 24000L;
+        this.world.setWorldTime(day + (night ? 13000L : 24000L + 1000L));
+        
+        if (night) {
+            
+            this.sunsets++;
+            
+            if (this.refill || this.sunsets == 1) {
+                
+                this.spawnMobs();
+            }
+        }
+        
+        else {
+            
+            this.sunrises++;
+        }
+    }
+    
+    private void spawnMobs () {
+        
+        final WorldTracker tracker = WorldTracker.get(this.world);
+        final BlockPos spawn = this.world.getSpawnPoint();
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            final int missing = this.targets[config.getId()] - (tracker != null ? tracker.getMobs(config).size() : 0);
+            
+            for (int count = 0; count < missing; count++) {
+                
+                final Entity entity = EntityList.newEntity(config.getEntityClass(), this.world);
+                final int x = spawn.getX() + this.world.rand.nextInt(this.radius * 2 + 1) - this.radius;
+                final int z = spawn.getZ() + this.world.rand.nextInt(this.radius * 2 + 1) - this.radius;
+                final BlockPos pos = this.world.getHeight(new BlockPos(x, 0, z));
+                
+                if (entity instanceof EntityLiving) {
+                    
+                    final EntityLiving living = (EntityLiving) entity;
+                    living.setLocationAndAngles(x + 0.5d, pos.getY(), z + 0.5d, this.world.rand.nextFloat() * 360f, 0f);
+                    living.onInitialSpawn(this.world.getDifficultyForLocation(pos), null);
+                    this.world.spawnEntity(living);
+                }
+            }
+        }
+    }
+    
+    private void movePlayers () {
+        
+        final BlockPos spawn = this.world.getSpawnPoint();
+        
+        for (int index = 0; index < this.players.size(); index++) {
+            
+            // Each player walks a circle of its own, about 4 blocks a second.
+            final double angle = this.tick * 0.2d / Math.max(this.radius, 1) + index * Math.PI * 2d / this.players.size();
+            final double x = spawn.getX() + 0.5d + Math.cos(angle) * this.radius * 0.75d;
+            final double z = spawn.getZ() + 0.5d + Math.sin(angle) * this.radius * 0.75d;
+            this.players.get(index).setPosition(x, this.world.getHeight((int) x, (int) z), z);
+        }
+    }
+    
+    private long getAllocatedBytes () {
+        
+        if (this.threads instanceof com.sun.management.ThreadMXBean) {
+            
+            return ((com.sun.management.ThreadMXBean) this.threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        
+        return -1;
+    }
+    
+    private static long[] getGarbageCollection () {
+        
+        final long[] totals = new long[2];
+        
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            
+            totals[0] += Math.max(collector.getCollectionCount(), 0);
+            totals[1] += Math.max(collector.getCollectionTime(), 0);
+        }
+        
+        return totals;
+    }
+    
+    private void onTickStart () {
+        
+        if (this.dayNightPeriod > 0 && this.tick > 0 && this.tick % this.dayNightPeriod == 0) {
+            
+            this.setNight(!(this.world.getWorldTime() % 24000L >= 12000L));
+        }
+        
+        this.movePlayers();
+        
+        if (this.tick == this.warmup) {
+            
+            final long[] gc = getGarbageCollection();
+            this.gcCountStart = gc[0];
+            this.gcTimeStart = gc[1];
+            this.allocatedStart = this.getAllocatedBytes();
+            this.countMobs(this.startCounts);
+        }
+        
+        this.tickStart = System.nanoTime();
+    }
+    
+    private void onTickEnd () {
+        
+        final long nanos = System.nanoTime() - this.tickStart;
+        
+        if (this.tick >= this.warmup) {
+            
+            this.tickNanos[this.tick - this.warmup] = nanos;
+            this.countMobs(null);
+        }
+        
+        this.tick++;
+        
+        if (this.tick >= this.warmup + this.ticks) {
+            
+            if (this.allocatedStart >= 0) {
+                
+                this.allocatedBytes = this.getAllocatedBytes() - this.allocatedStart;
+            }
+            
+            this.finish();
+        }
+    }
+    
+    private void countMobs (int[] into) {
+        
+        final WorldTracker tracker = WorldTracker.get(this.world);
+        
+        if (tracker == null) {
+            
+            return;
+        }
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            final int count = tracker.getMobs(config).size();
+            
+            if (into != null) {
+                
+                into[config.getId()] = count;
+            }
+            
+            this.minCounts[config.getId()] = Math.min(this.minCounts[config.getId()], count);
+            this.maxCounts[config.getId()] = Math.max(this.maxCounts[config.getId()], count);
+        }
+    }
+    
+    private void finish () {
+        
+        running = null;
+        this.world.playerEntities.removeAll(this.players);
+        
+        final int[] endCounts = new int[this.targets.length];
+        this.countMobs(endCounts);
+        
+        final long[] sorted = this.tickNanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        
+        for (final long nanos : sorted) {
+            
+            total += nanos;
+        }
+        
+        final long[] gc = getGarbageCollection();
+        final JsonObject report = new JsonObject();
+        final JsonObject scenario = new JsonObject();
+        
+        for (final String key : this.scenario.stringPropertyNames()) {
+            
+            scenario.addProperty(key, this.scenario.getProperty(key));
+        }
+        
+        report.add("scenario", scenario);
+        report.addProperty("version", EerieEntities.class.getPackage().getImplementationVersion());
+        report.addProperty("java", System.getProperty("java.version"));
+        report.addProperty("ticks", this.ticks);
+        report.addProperty("sunrises", this.sunrises);
+        report.addProperty("sunsets", this.sunsets);
+        
+        final JsonObject tickTime = new JsonObject();
+        tickTime.addProperty("mean_ms", total / (double) sorted.length / 1.0e6);
+        tickTime.addProperty("p50_ms", getPercentile(sorted, 0.5) / 1.0e6);
+        tickTime.addProperty("p95_ms", getPercentile(sorted, 0.95) / 1.0e6);
+        tickTime.addProperty("p99_ms", getPercentile(sorted, 0.99) / 1.0e6);
+        tickTime.addProperty("max_ms", sorted[sorted.length - 1] / 1.0e6);
+        tickTime.addProperty("over_50ms", countOver(sorted, 50_000_000L));
+        report.add("tick_time", tickTime);
+        
+        final JsonObject memory = new JsonObject();
+        memory.addProperty("allocated_bytes", this.allocatedBytes);
+        memory.addProperty("allocated_bytes_per_tick", this.allocatedBytes >= 0 ? this.allocatedBytes / this.ticks : -1);
+        memory.addProperty("allocated_mb_per_second", this.allocatedBytes >= 0 ? this.allocatedBytes / 1048576d / (total / 1.0e9) : -1);
+        memory.addProperty("gc_count", gc[0] - this.gcCountStart);
+        memory.addProperty("gc_time_ms", gc[1] - this.gcTimeStart);
+        report.add("memory", memory);
+        
+        final JsonObject mobs = new JsonObject();
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            final JsonObject mob = new JsonObject();
+            mob.addProperty("target", this.targets[config.getId()]);
+            mob.addProperty("start", this.startCounts[config.getId()]);
+            mob.addProperty("end", endCounts[config.getId()]);
+            mob.addProperty("min", this.minCounts[config.getId()] == Integer.MAX_VALUE ? 0 : this.minCounts[config.getId()]);
+            mob.addProperty("max", this.maxCounts[config.getId()]);
+            mobs.add(config.getName(), mob);
+        }
+        
+        report.add("mobs", mobs);
+        report.addProperty("loaded_entities", this.world.loadedEntityList.size());
+        
+        final File directory = EerieEntities.getOutputDirectory(this.server, "loadtests");
+        final File file = new File(directory, this.scenario.getProperty("name", "loadtest") + "-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+        
+        try {
+            
+            if (!directory.exists() && !directory.mkdirs()) {
+                
+                throw new IOException("Could not create " + directory);
+            }
+            
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                
+                GSON.toJson(report, writer);
+            }
+            
+            EerieEntities.LOG.info("Finished load test, wrote the report to " + file.getPath());
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.error("Could not write the load test report. " + e.getMessage());
+        }
+        
+        this.server.initiateShutdown();
+    }
+    
+    private static long getPercentile (long[] sorted, double percentile) {
+        
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+    
+    private static int countOver (long[] sorted, long limit) {
+        
+        int count = 0;
+        
+        for (final long nanos : sorted) {
+            
+            if (nanos > limit) {
+                
+                count++;
+            }
+        }
+        
+        return count;
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick (TickEvent.ServerTickEvent event) {
+        
+        if (running != null) {
+            
+            if (event.phase == TickEvent.Phase.START) {
+                
+                running.onTickStart();
+            }
+            
+            else {
+                
+                running.onTickEnd();
+            }
+        }
+    }
+    
+    /**
+     * A connection for the fake players which drops everything sent to them.
+     */
+    private static class DiscardingConnection extends NetHandlerPlayServer {
+        
+        private DiscardingConnection(MinecraftServer server, FakePlayer player) {
+            
+            super(server, new NetworkManager(EnumPacketDirection.SERVERBOUND), player);
+        }
+        
+        @Override
+        public void sendPacket (Packet<?> packet) {
+            
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.jarhax.eerieentities.network;
+
+import java.util.Random;
+
+import com.jarhax.eerieentities.world.EffectBatcher;
+import com.jarhax.eerieentities.world.EffectBatcher.Effect;
+
+import net.darkhax.bookshelf.network.SerializableMessage;
+import net.minecraft.block.Block;
+import net.minecraft.client.Minecraft;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumParticleTypes;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Carries every effect played in a chunk section during one tick. See {@link EffectBatcher}
+ * for the layout of the effect data.
+ */
+public class MessageEffects extends SerializableMessage {
+    
+    public int sectionX;
+    public int sectionY;
+    public int sectionZ;
+    public NBTTagCompound effects;
+    
+    public MessageEffects() {
+        
+        // Empty constructor for forge's message system.
+    }
+    
+    public MessageEffects(int sectionX, int sectionY, int sectionZ, byte[] effects) {
+        
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+        this.effects = new NBTTagCompound();
+        this.effects.setByteArray("Data", effects);
+    }
+    
+    @Override
+    public IMessage handleMessage (MessageContext context) {
+        
+        this.handleClient();
+        return null;
+    }
+    
+    @SideOnly(Side.CLIENT)
+    private void handleClient () {
+        
+        final Minecraft mc = Minecraft.getMinecraft();
+        
+        mc.addScheduledTask( () -> {
+            
+            final byte[] data = this.effects.getByteArray("Data");
+            
+            for (int index = 0; index + 3 < data.length; index += 4) {
+                
+                final double x = (this.sectionX << 4) + (data[index + 1] & 0xFF) / 16d;
+                final double y = (this.sectionY << 4) + (data[index + 2] & 0xFF) / 16d;
+                final double z = (this.sectionZ << 4) + (data[index + 3] & 0xFF) / 16d;
+                spawnParticles(mc.world, Effect.byOrdinal(data[index] & 0xFF), x, y, z);
+            }
+        });
+    }
+    
+    @SideOnly(Side.CLIENT)
+    private static void spawnParticles (World world, Effect effect, double x, double y, double z) {
+        
+        final Random rand = world.rand;
+        
+        switch (effect) {
+            
+            case SOLIDIFY:
+                
+                for (int i = 0; i < 16; i++) {
+                    
+                    final float angle = rand.nextFloat() * ((float) Math.PI * 2F);
+                    final float offset = rand.nextFloat() * 0.5F + 0.5F;
+                    world.spawnParticle(EnumParticleTypes.BLOCK_DUST, x + MathHelper.sin(angle) * offset, y, z + MathHelper.cos(angle) * offset, 0.0D, 0.0D, 0.0D, Block.getStateId(Blocks.PUMPKIN.getDefaultState()));
+                }
+                
+                // The slime also disappears when it solidifies.
+                
+            case DESPAWN:
+                
+                for (int i = 0; i < 20; i++) {
+                    
+                    final double d0 = rand.nextGaussian() * 0.02D;
+                    final double d1 = rand.nextGaussian() * 0.02D;
+                    final double d2 = rand.nextGaussian() * 0.02D;
+                    world.spawnParticle(EnumParticleTypes.EXPLOSION_NORMAL, x + rand.nextFloat() * 2.0F - 1.0F - d0 * 10.0D, y + rand.nextFloat() - d1 * 10.0D, z + rand.nextFloat() * 2.0F - 1.0F - d2 * 10.0D, d0, d1, d2);
+                }
+                
+                break;
+                
+            case TAME_SUCCESS:
+            case TAME_FAIL:
+                
+                final EnumParticleTypes type = effect == Effect.TAME_SUCCESS ? EnumParticleTypes.HEART : EnumParticleTypes.SMOKE_NORMAL;
+                
+                for (int i = 0; i < 7; ++i) {
+                    
+                    final double d0 = rand.nextGaussian() * 0.02D;
+                    final double d1 = rand.nextGaussian() * 0.02D;
+                    final double d2 = rand.nextGaussian() * 0.02D;
+                    world.spawnParticle(type, x + rand.nextFloat() * 2.0F - 1.0F, y + 0.5D + rand.nextFloat(), z + rand.nextFloat() * 2.0F - 1.0F, d0, d1, d2);
+                }
+                
+                break;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jarhax.eerieentities.network;
+
+import com.jarhax.eerieentities.entities.EntityPumpkinSlime;
+
+import net.darkhax.bookshelf.network.SerializableMessage;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Tells a player whether or not they own a pumpkin slime. This is only sent to the owner, other
+ * players are never told who owns a slime.
+ */
+public class MessageSlimeOwner extends SerializableMessage {
+    
+    public int entityId;
+    public boolean owned;
+    
+    public MessageSlimeOwner() {
+        
+        // Empty constructor for forge's message system.
+    }
+    
+    public MessageSlimeOwner(int entityId, boolean owned) {
+        
+        this.entityId = entityId;
+        this.owned = owned;
+    }
+    
+    @Override
+    public IMessage handleMessage (MessageContext context) {
+        
+        this.handleClient();
+        return null;
+    }
+    
+    @SideOnly(Side.CLIENT)
+    private void handleClient () {
+        
+        final Minecraft mc = Minecraft.getMinecraft();
+        
+        mc.addScheduledTask( () -> {
+            
+            final Entity entity = mc.world.getEntityByID(this.entityId);
+            
+            if (entity instanceof EntityPumpkinSlime) {
+                
+                ((EntityPumpkinSlime) entity).setOwnerId(this.owned ? mc.player.getPersistentID() : null);
+            }
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.jarhax.eerieentities.profiler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.Config;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * A fixed size trace of state changes of the mod's mobs. Each event is three longs: the time it
+ * happened, the type and entity id, and the block position. Writers claim a slot with a single
+ * atomic increment, so recording never locks or allocates. Once the buffer is full the oldest
+ * events are overwritten. Dumps can be turned into a timeline with {@link TraceDecoder}.
+ */
+@EventBusSubscriber
+public class EventTrace {
+    
+    public static final int MAGIC = 0x45455452;
+    public static final int VERSION = 1;
+    
+    private static final int CAPACITY = 1 << 14;
+    private static final int LONGS_PER_EVENT = 3;
+    
+    /**
+     * The minimum amount of time between automatic dumps, so a server that keeps lagging does
+     * not fill the disk.
+     */
+    private static final long DUMP_COOLDOWN = 60_000L;
+    
+    private static final long[] EVENTS = new long[CAPACITY * LONGS_PER_EVENT];
+    private static final AtomicLong CURSOR = new AtomicLong();
+    
+    private static long tickStart;
+    private static long lastDump;
+    
+    /**
+     * Records an event for an entity.
+     *
+     * @param type The type of event.
+     * @param entity The entity the event happened to.
+     * @param data Extra data for the event, limited to 24 bits.
+     */
+    public static void record (Type type, Entity entity, int data) {
+        
+        if (!Config.eventTrace) {
+            
+            return;
+        }
+        
+        final int slot = (int) (CURSOR.getAndIncrement() & CAPACITY - 1) * LONGS_PER_EVENT;
+        EVENTS[slot] = System.nanoTime();
+        EVENTS[slot + 1] = (long) type.ordinal() << 56 | (data & 0xFFFFFFL) << 32 | entity.getEntityId() & 0xFFFFFFFFL;
+        EVENTS[slot + 2] = packPosition(entity);
+    }
+    
+    /**
+     * Packs the block position of an entity the same way as BlockPos#toLong, without creating a
+     * BlockPos. X and Z get 26 bits each and Y gets the 12 bits in between.
+     */
+    private static long packPosition (Entity entity) {
+        
+        final long x = MathHelper.floor(entity.posX);
+        final long y = MathHelper.floor(entity.posY);
+        final long z = MathHelper.floor(entity.posZ);
+        return (x & 0x3FFFFFFL) << 38 | (y & 0xFFFL) << 26 | z & 0x3FFFFFFL;
+    }
+    
+    /**
+     * Writes the events in the buffer to a file, oldest first. The file starts with a header
+     * holding the wall clock and nano time of the dump, so the decoder can place each event.
+     *
+     * @param server The running server.
+     * @return The file that was written.
+     * @throws IOException If the file could not be written.
+     */
+    public static File dump (MinecraftServer server) throws IOException {
+        
+        final File directory = EerieEntities.getOutputDirectory(server, "traces");
+        
+        if (!directory.exists() && !directory.mkdirs()) {
+            
+            throw new IOException("Could not create " + directory);
+        }
+        
+        final File file = new File(directory, "trace-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".bin");
+        final long end = CURSOR.get();
+        final long start = Math.max(0, end - CAPACITY);
+        
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(System.currentTimeMillis());
+            output.writeLong(System.nanoTime());
+            output.writeInt((int) (end - start));
+            
+            for (long index = start; index < end; index++) {
+                
+                final int slot = (int) (index & CAPACITY - 1) * LONGS_PER_EVENT;
+                
+                for (int offset = 0; offset < LONGS_PER_EVENT; offset++) {
+                    
+                    output.writeLong(EVENTS[slot + offset]);
+                }
+            }
+        }
+        
+        return file;
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick (TickEvent.ServerTickEvent event) {
+        
+        if (!Config.eventTrace || Config.traceOverrunMillis <= 0) {
+            
+            return;
+        }
+        
+        if (event.phase == TickEvent.Phase.START) {
+            
+            tickStart = System.nanoTime();
+        }
+        
+        else if (tickStart != 0 && (System.nanoTime() - tickStart) / 1_000_000L >= Config.traceOverrunMillis && System.currentTimeMillis() - lastDump >= DUMP_COOLDOWN) {
+            
+            lastDump = System.currentTimeMillis();
+            
+            try {
+                
+                final File file = dump(FMLCommonHandler.instance().getMinecraftServerInstance());
+                EerieEntities.LOG.info("A tick took over " + Config.traceOverrunMillis + "ms, wrote the event trace to " + file.getName());
+            }
+            
+            catch (final IOException e) {
+                
+                EerieEntities.LOG.warn("Could not write the event trace. " + e.getMessage());
+            }
+        }
+    }
+    
+    public enum Type {
+        
+        SLIME_TO_BLOCK,
+        SLIME_TO_SLIME,
+        SLIME_SOLIDIFY,
+        WISP_DESPAWN,
+        KNIGHT_REINFORCEMENT,
+        ARMOR_BREAK;
+    }
+}
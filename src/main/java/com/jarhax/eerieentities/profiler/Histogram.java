@@ -0,0 +1,93 @@
+package com.jarhax.eerieentities.profiler;
+
+/**
+ * A histogram of nanosecond timings. Values are grouped into buckets by their power of two, with
+ * each power split into four linear steps, so percentiles are accurate to within a quarter of
+ * the value. Recording never allocates.
+ */
+public class Histogram {
+    
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    
+    private final long[] buckets = new long[64 * SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+    
+    public void record (long nanos) {
+        
+        final long value = Math.max(nanos, 0);
+        this.buckets[indexOf(value)]++;
+        this.count++;
+        this.total += value;
+        
+        if (value > this.max) {
+            
+            this.max = value;
+        }
+    }
+    
+    /**
+     * Gets a percentile of the recorded values.
+     *
+     * @param percentile The percentile to get, between 0 and 1.
+     * @return The upper bound of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+    public long getPercentile (double percentile) {
+        
+        final long target = (long) Math.ceil(percentile * this.count);
+        long seen = 0;
+        
+        for (int index = 0; index < this.buckets.length; index++) {
+            
+            seen += this.buckets[index];
+            
+            if (seen >= target && seen > 0) {
+                
+                return Math.min(upperBound(index), this.max);
+            }
+        }
+        
+        return this.max;
+    }
+    
+    public long getCount () {
+        
+        return this.count;
+    }
+    
+    public long getTotal () {
+        
+        return this.total;
+    }
+    
+    public long getMax () {
+        
+        return this.max;
+    }
+    
+    private static int indexOf (long value) {
+        
+        if (value < SUB_BUCKETS) {
+            
+            return (int) value;
+        }
+        
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int step = (int) (value >>> exponent - SUB_BITS) & SUB_BUCKETS - 1;
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + step;
+    }
+    
+    private static long upperBound (int index) {
+        
+        if (index < SUB_BUCKETS) {
+            
+            return index;
+        }
+        
+        final int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        final int step = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + step + 1) << exponent - SUB_BITS) - 1;
+    }
+}
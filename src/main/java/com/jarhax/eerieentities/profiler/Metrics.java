@@ -0,0 +1,282 @@
+package com.jarhax.eerieentities.profiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.profiler.MobProfiler.Section;
+import com.jarhax.eerieentities.world.WorldTracker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Counters for the mod's mobs which can be scraped in the Prometheus text format from a local
+ * HTTP endpoint. Every counter is allocated up front and only updated through atomics on the
+ * server thread, and the response text is only built on the endpoint's own thread.
+ */
+@EventBusSubscriber
+public class Metrics {
+    
+    private static final int SECTIONS = Section.values().length;
+    
+    private static final AtomicLong REINFORCEMENTS = new AtomicLong();
+    private static final AtomicLong TO_BLOCK = new AtomicLong();
+    private static final AtomicLong TO_SLIME = new AtomicLong();
+    private static final AtomicLong DIE_OFFS = new AtomicLong();
+    private static final AtomicLong DIE_OFF_DEATHS = new AtomicLong();
+    private static final AtomicLong DIE_OFF_MAX = new AtomicLong();
+    
+    /**
+     * The live counts of each mob, by world. These are copied from the world trackers once a
+     * second.
+     */
+    private static final Map<World, AtomicIntegerArray> LIVE = new ConcurrentHashMap<>();
+    
+    /**
+     * The counters sized by the amount of mobs. These are created when the endpoint starts, as
+     * this class can be loaded before the mobs are configured.
+     */
+    private static AtomicLongArray spawns;
+    private static AtomicLongArray tickNanos;
+    private static AtomicLongArray tickCalls;
+    
+    private static int dawnDeaths;
+    private static HttpServer server;
+    private static ExecutorService executor;
+    
+    public static boolean isEnabled () {
+        
+        return server != null;
+    }
+    
+    /**
+     * Gets the port the endpoint is listening on. This differs from the configured port when
+     * that is set to 0, which picks any free port.
+     *
+     * @return The port of the endpoint, or -1 if it is not running.
+     */
+    public static int getPort () {
+        
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+    
+    public static void countSpawn (MobConfig config) {
+        
+        if (spawns != null) {
+            
+            spawns.incrementAndGet(config.getId());
+        }
+    }
+    
+    public static void countReinforcement () {
+        
+        REINFORCEMENTS.incrementAndGet();
+    }
+    
+    public static void countTransform (boolean toBlock) {
+        
+        (toBlock ? TO_BLOCK : TO_SLIME).incrementAndGet();
+    }
+    
+    /**
+     * Counts a mob that died because the sun came up. All of these deaths in one tick count as
+     * one die off.
+     */
+    public static void countDawnDeath () {
+        
+        dawnDeaths++;
+    }
+    
+    static void recordTime (MobConfig config, Section section, long nanos) {
+        
+        if (tickNanos != null) {
+            
+            final int index = config.getId() * SECTIONS + section.ordinal();
+            tickNanos.addAndGet(index, nanos);
+            tickCalls.incrementAndGet(index);
+        }
+    }
+    
+    /**
+     * Starts the endpoint if it is enabled in the config.
+     */
+    public static void start () {
+        
+        if (!Config.metricsEndpoint || server != null) {
+            
+            return;
+        }
+        
+        if (spawns == null) {
+            
+            spawns = new AtomicLongArray(MobConfig.mobConfigs.size());
+            tickNanos = new AtomicLongArray(MobConfig.mobConfigs.size() * SECTIONS);
+            tickCalls = new AtomicLongArray(MobConfig.mobConfigs.size() * SECTIONS);
+        }
+        
+        try {
+            
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Config.metricsPort), 0);
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                
+                final Thread thread = new Thread(runnable, "Eerie Entities Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/metrics", Metrics::handle);
+            server.start();
+            EerieEntities.LOG.info("Serving metrics on http://localhost:" + getPort() + "/metrics");
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.warn("Could not start the metrics endpoint on port " + Config.metricsPort + ". " + e.getMessage());
+            server = null;
+        }
+    }
+    
+    public static void stop () {
+        
+        if (server != null) {
+            
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+    
+    private static void handle (HttpExchange exchange) throws IOException {
+        
+        final byte[] body = write().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        
+        try (OutputStream output = exchange.getResponseBody()) {
+            
+            output.write(body);
+        }
+    }
+    
+    /**
+     * Writes every metric in the Prometheus text format.
+     */
+    public static String write () {
+        
+        final StringBuilder out = new StringBuilder();
+        
+        out.append("# HELP eerie_live_entities Loaded instances of each mob.\n# TYPE eerie_live_entities gauge\n");
+        
+        for (final Map.Entry<World, AtomicIntegerArray> dimension : LIVE.entrySet()) {
+            
+            for (final MobConfig config : MobConfig.mobConfigs) {
+                
+                out.append("eerie_live_entities{mob=\"").append(config.getName()).append("\",dimension=\"").append(dimension.getKey().provider.getDimension()).append("\"} ").append(dimension.getValue().get(config.getId())).append('\n');
+            }
+        }
+        
+        out.append("# HELP eerie_spawns_total Mobs spawned into the world.\n# TYPE eerie_spawns_total counter\n");
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            out.append("eerie_spawns_total{mob=\"").append(config.getName()).append("\"} ").append(spawns.get(config.getId())).append('\n');
+        }
+        
+        out.append("# HELP eerie_knight_reinforcements_total Reinforcements called by nether knights.\n# TYPE eerie_knight_reinforcements_total counter\n");
+        out.append("eerie_knight_reinforcements_total ").append(REINFORCEMENTS.get()).append('\n');
+        out.append("# HELP eerie_slime_transforms_total Pumpkin slime changes between block and slime form.\n# TYPE eerie_slime_transforms_total counter\n");
+        out.append("eerie_slime_transforms_total{to=\"block\"} ").append(TO_BLOCK.get()).append('\n');
+        out.append("eerie_slime_transforms_total{to=\"slime\"} ").append(TO_SLIME.get()).append('\n');
+        out.append("# HELP eerie_dawn_die_off_size Mobs killed by sunrise in a single tick.\n# TYPE eerie_dawn_die_off_size summary\n");
+        out.append("eerie_dawn_die_off_size_sum ").append(DIE_OFF_DEATHS.get()).append('\n');
+        out.append("eerie_dawn_die_off_size_count ").append(DIE_OFFS.get()).append('\n');
+        out.append("# HELP eerie_dawn_die_off_size_max The largest die off so far.\n# TYPE eerie_dawn_die_off_size_max gauge\n");
+        out.append("eerie_dawn_die_off_size_max ").append(DIE_OFF_MAX.get()).append('\n');
+        out.append("# HELP eerie_mob_seconds Server time spent in the methods of each mob.\n# TYPE eerie_mob_seconds summary\n");
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            for (final Section section : Section.values()) {
+                
+                final int index = config.getId() * SECTIONS + section.ordinal();
+                final String labels = "{mob=\"" + config.getName() + "\",method=\"" + section.getName() + "\"} ";
+                out.append("eerie_mob_seconds_sum").append(labels).append(tickNanos.get(index) / 1.0e9).append('\n');
+                out.append("eerie_mob_seconds_count").append(labels).append(tickCalls.get(index)).append('\n');
+            }
+        }
+        
+        return out.toString();
+    }
+    
+    @SubscribeEvent
+    public static void onWorldLoad (WorldEvent.Load event) {
+        
+        if (!event.getWorld().isRemote) {
+            
+            LIVE.put(event.getWorld(), new AtomicIntegerArray(MobConfig.mobConfigs.size()));
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onWorldUnload (WorldEvent.Unload event) {
+        
+        if (!event.getWorld().isRemote) {
+            
+            LIVE.remove(event.getWorld());
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onWorldTick (TickEvent.WorldTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && !event.world.isRemote && server != null && event.world.getTotalWorldTime() % 20 == 0) {
+            
+            final WorldTracker tracker = WorldTracker.get(event.world);
+            final AtomicIntegerArray live = LIVE.get(event.world);
+            
+            if (tracker != null && live != null) {
+                
+                for (final MobConfig config : MobConfig.mobConfigs) {
+                    
+                    live.set(config.getId(), tracker.getMobs(config).size());
+                }
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick (TickEvent.ServerTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && dawnDeaths > 0) {
+            
+            DIE_OFFS.incrementAndGet();
+            DIE_OFF_DEATHS.addAndGet(dawnDeaths);
+            
+            if (dawnDeaths > DIE_OFF_MAX.get()) {
+                
+                DIE_OFF_MAX.set(dawnDeaths);
+            }
+            
+            dawnDeaths = 0;
+        }
+    }
+}
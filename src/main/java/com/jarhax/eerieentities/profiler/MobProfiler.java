@@ -0,0 +1,201 @@
+package com.jarhax.eerieentities.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.world.WorldTracker;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+/**
+ * Times the main methods of the mod's mobs on the server. While the profiler is stopped and the
+ * metrics endpoint is off, {@link #start(World)} returns {@link #DISABLED} without reading the
+ * clock, and {@link #stop(MobConfig, Section, long)} returns right away for that value.
+ */
+public class MobProfiler {
+    
+    public static final long DISABLED = Long.MIN_VALUE;
+    
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    
+    private static boolean enabled;
+    private static long startedAt;
+    private static long stoppedAt;
+    private static Histogram[][] histograms = new Histogram[0][0];
+    
+    public static long start (World world) {
+        
+        return (enabled || Metrics.isEnabled()) && !world.isRemote ? System.nanoTime() : DISABLED;
+    }
+    
+    public static void stop (MobConfig config, Section section, long start) {
+        
+        if (start != DISABLED) {
+            
+            final long nanos = System.nanoTime() - start;
+            
+            if (enabled) {
+                
+                histograms[config.getId()][section.ordinal()].record(nanos);
+            }
+            
+            if (Metrics.isEnabled()) {
+                
+                Metrics.recordTime(config, section, nanos);
+            }
+        }
+    }
+    
+    public static boolean isEnabled () {
+        
+        return enabled;
+    }
+    
+    /**
+     * Starts a new profile. Anything recorded by an earlier profile is discarded.
+     */
+    public static void enable () {
+        
+        histograms = new Histogram[MobConfig.mobConfigs.size()][Section.values().length];
+        
+        for (final Histogram[] mob : histograms) {
+            
+            for (int section = 0; section < mob.length; section++) {
+                
+                mob[section] = new Histogram();
+            }
+        }
+        
+        startedAt = System.currentTimeMillis();
+        stoppedAt = 0;
+        enabled = true;
+    }
+    
+    public static void disable () {
+        
+        if (enabled) {
+            
+            enabled = false;
+            stoppedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Writes the current profile as JSON and CSV files.
+     *
+     * @param server The server to count live mobs in.
+     * @param directory The directory to write the files to.
+     * @return The JSON file that was written.
+     * @throws IOException If the files could not be written.
+     */
+    public static File dump (MinecraftServer server, File directory) throws IOException {
+        
+        final String name = "profile-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        final JsonObject root = new JsonObject();
+        final JsonObject mobs = new JsonObject();
+        final StringBuilder csv = new StringBuilder("mob,section,calls,total_ns,mean_ns,p50_ns,p99_ns,max_ns,live\n");
+        
+        root.addProperty("started", startedAt);
+        root.addProperty("duration_ms", (stoppedAt != 0 ? stoppedAt : System.currentTimeMillis()) - startedAt);
+        root.addProperty("running", enabled);
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            if (config.getId() >= histograms.length) {
+                
+                continue;
+            }
+            
+            final int live = countLive(server, config);
+            final JsonObject mob = new JsonObject();
+            final JsonObject sections = new JsonObject();
+            mob.addProperty("live", live);
+            
+            for (final Section section : Section.values()) {
+                
+                final Histogram histogram = histograms[config.getId()][section.ordinal()];
+                final long mean = histogram.getCount() > 0 ? histogram.getTotal() / histogram.getCount() : 0;
+                final JsonObject entry = new JsonObject();
+                entry.addProperty("calls", histogram.getCount());
+                entry.addProperty("total_ns", histogram.getTotal());
+                entry.addProperty("mean_ns", mean);
+                entry.addProperty("p50_ns", histogram.getPercentile(0.5));
+                entry.addProperty("p99_ns", histogram.getPercentile(0.99));
+                entry.addProperty("max_ns", histogram.getMax());
+                sections.add(section.getName(), entry);
+                
+                csv.append(config.getName()).append(',').append(section.getName()).append(',').append(histogram.getCount()).append(',').append(histogram.getTotal()).append(',').append(mean).append(',').append(histogram.getPercentile(0.5)).append(',').append(histogram.getPercentile(0.99)).append(',').append(histogram.getMax()).append(',').append(live).append('\n');
+            }
+            
+            mob.add("sections", sections);
+            mobs.add(config.getName(), mob);
+        }
+        
+        root.add("mobs", mobs);
+        
+        if (!directory.exists() && !directory.mkdirs()) {
+            
+            throw new IOException("Could not create " + directory);
+        }
+        
+        final File json = new File(directory, name + ".json");
+        
+        try (Writer writer = Files.newBufferedWriter(json.toPath(), StandardCharsets.UTF_8)) {
+            
+            GSON.toJson(root, writer);
+        }
+        
+        Files.write(new File(directory, name + ".csv").toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+        return json;
+    }
+    
+    private static int countLive (MinecraftServer server, MobConfig config) {
+        
+        int live = 0;
+        
+        for (final WorldServer world : server.worlds) {
+            
+            final WorldTracker tracker = WorldTracker.get(world);
+            
+            if (tracker != null) {
+                
+                live += tracker.getMobs(config).size();
+            }
+        }
+        
+        return live;
+    }
+    
+    public enum Section {
+        
+        LIVING_UPDATE("onLivingUpdate"),
+        AI_TASKS("updateAITasks"),
+        ATTACKED("attackEntityFrom"),
+        INITIAL_SPAWN("onInitialSpawn"),
+        TRANSFORM_BLOCK("transformToBlock"),
+        TRANSFORM_SLIME("transformToSlime");
+        
+        private final String name;
+        
+        Section(String name) {
+            
+            this.name = name;
+        }
+        
+        public String getName () {
+            
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.jarhax.eerieentities.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Throwables;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.jarhax.eerieentities.EerieEntities;
+
+/**
+ * Records how long each step of the mod's startup takes. Steps which do not touch GL or the
+ * registries can be submitted to run in the background, and are joined before anything needs
+ * their result. When post init is finished the times are logged and written to
+ * eerieentities/startup/startup.json.
+ */
+public class StartupTimer {
+    
+    public static final String PRE_INIT = "pre_init";
+    public static final String CLIENT_PRE_INIT = "client_pre_init";
+    public static final String CLIENT_INIT = "client_init";
+    public static final String POST_INIT = "post_init";
+    
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    
+    /**
+     * The steps are added to by the background threads, so this list is synchronized.
+     */
+    private static final List<Step> STEPS = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, Long> PHASES = new LinkedHashMap<>();
+    
+    private static ExecutorService executor;
+    
+    /**
+     * Times a step of startup on the current thread.
+     *
+     * @param phase The phase the step is part of.
+     * @param step The name of the step.
+     * @param task The work done by the step.
+     */
+    public static void time (String phase, String step, Runnable task) {
+        
+        final long start = System.nanoTime();
+        task.run();
+        record(phase, step, start, false);
+    }
+    
+    /**
+     * Starts a step of startup on a background thread. This must only be used for work which does
+     * not touch GL or change the registries, and the result must be joined with
+     * {@link #join(Future)} before the phase ends.
+     *
+     * @param phase The phase the step is part of.
+     * @param step The name of the step.
+     * @param task The work done by the step.
+     * @return The result of the step.
+     */
+    public static <T> Future<T> submit (String phase, String step, Callable<T> task) {
+        
+        return getExecutor().submit( () -> {
+            
+            final long start = System.nanoTime();
+            
+            try {
+                
+                return task.call();
+            }
+            
+            finally {
+                
+                record(phase, step, start, true);
+            }
+        });
+    }
+    
+    public static Future<?> submit (String phase, String step, Runnable task) {
+        
+        return submit(phase, step, () -> {
+            
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Waits for a background step to finish. Anything thrown by the step is thrown again here, so
+     * it fails startup the same way it would have on the main thread.
+     *
+     * @param future The step to wait for.
+     * @return The result of the step.
+     */
+    public static <T> T join (Future<T> future) {
+        
+        try {
+            
+            return future.get();
+        }
+        
+        catch (final InterruptedException e) {
+            
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a startup step.", e);
+        }
+        
+        catch (final ExecutionException e) {
+            
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("A startup step failed.", e.getCause());
+        }
+    }
+    
+    /**
+     * Records the total time of a phase. This includes the time spent waiting on background
+     * steps, but not the time they overlapped with the main thread.
+     *
+     * @param phase The phase which has ended.
+     * @param start The time the phase started at, from {@link System#nanoTime()}.
+     */
+    public static void endPhase (String phase, long start) {
+        
+        PHASES.merge(phase, System.nanoTime() - start, Long::sum);
+    }
+    
+    /**
+     * Logs the times of every phase, and writes every step to a report. The background threads
+     * are not needed after this, so they are stopped.
+     *
+     * @param gameDir The directory the game was started in.
+     */
+    public static void finish (File gameDir) {
+        
+        shutdown();
+        
+        long total = 0;
+        
+        for (final Map.Entry<String, Long> phase : PHASES.entrySet()) {
+            
+            total += phase.getValue();
+            EerieEntities.LOG.info(String.format("Startup phase %s took %.1f ms.", phase.getKey(), phase.getValue() / 1.0e6));
+        }
+        
+        EerieEntities.LOG.info(String.format("Startup took %.1f ms.", total / 1.0e6));
+        
+        final File directory = EerieEntities.getOutputDirectory(gameDir, "startup");
+        
+        try {
+            
+            write(directory, total);
+        }
+        
+        catch (final IOException e) {
+            
+            EerieEntities.LOG.warn("Could not write the startup times to " + directory + ". " + e.getMessage());
+        }
+    }
+    
+    private static void write (File directory, long total) throws IOException {
+        
+        final JsonObject root = new JsonObject();
+        final JsonObject phases = new JsonObject();
+        final JsonArray steps = new JsonArray();
+        
+        root.addProperty("total_ms", total / 1.0e6);
+        
+        for (final Map.Entry<String, Long> phase : PHASES.entrySet()) {
+            
+            phases.addProperty(phase.getKey(), phase.getValue() / 1.0e6);
+        }
+        
+        synchronized (STEPS) {
+            
+            for (final Step step : STEPS) {
+                
+                final JsonObject entry = new JsonObject();
+                entry.addProperty("phase", step.phase);
+                entry.addProperty("step", step.name);
+                entry.addProperty("thread", step.thread);
+                entry.addProperty("background", step.background);
+                entry.addProperty("ms", step.nanos / 1.0e6);
+                steps.add(entry);
+            }
+        }
+        
+        root.add("phases", phases);
+        root.add("steps", steps);
+        
+        if (!directory.exists() && !directory.mkdirs()) {
+            
+            throw new IOException("Could not create " + directory);
+        }
+        
+        try (Writer writer = Files.newBufferedWriter(new File(directory, "startup.json").toPath(), StandardCharsets.UTF_8)) {
+            
+            GSON.toJson(root, writer);
+        }
+    }
+    
+    private static void record (String phase, String step, long start, boolean background) {
+        
+        STEPS.add(new Step(phase, step, Thread.currentThread().getName(), System.nanoTime() - start, background));
+    }
+    
+    private static synchronized ExecutorService getExecutor () {
+        
+        if (executor == null) {
+            
+            // Startup only has a few independent steps, so a couple of threads is enough.
+            final int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                
+                final Thread thread = new Thread(runnable, "Eerie Entities Startup");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        return executor;
+    }
+    
+    private static synchronized void shutdown () {
+        
+        if (executor != null) {
+            
+            executor.shutdown();
+            executor = null;
+        }
+    }
+    
+    private static class Step {
+        
+        private final String phase;
+        private final String name;
+        private final String thread;
+        private final long nanos;
+        private final boolean background;
+        
+        private Step(String phase, String name, String thread, long nanos, boolean background) {
+            
+            this.phase = phase;
+            this.name = name;
+            this.thread = thread;
+            this.nanos = nanos;
+            this.background = background;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.jarhax.eerieentities.profiler;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.jarhax.eerieentities.profiler.EventTrace.Type;
+
+/**
+ * Prints a trace written by {@link EventTrace} as a timeline. This runs outside of the game,
+ * with the mod jar on the class path.
+ *
+ * <pre>
+ * java -cp eerieentities.jar com.jarhax.eerieentities.profiler.TraceDecoder trace.bin
+ * </pre>
+ */
+public class TraceDecoder {
+    
+    public static void main (String[] args) throws IOException {
+        
+        if (args.length != 1) {
+            
+            System.err.println("Usage: TraceDecoder <trace file>");
+            System.exit(1);
+        }
+        
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+            
+            if (input.readInt() != EventTrace.MAGIC) {
+                
+                throw new IOException("Not an event trace: " + args[0]);
+            }
+            
+            final int version = input.readInt();
+            
+            if (version != EventTrace.VERSION) {
+                
+                throw new IOException("Unsupported trace version " + version);
+            }
+            
+            final long dumpMillis = input.readLong();
+            final long dumpNanos = input.readLong();
+            final int count = input.readInt();
+            final Type[] types = Type.values();
+            final SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+            long previous = 0;
+            
+            System.out.println(count + " events, dumped at " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(dumpMillis)));
+            
+            for (int index = 0; index < count; index++) {
+                
+                final long time = input.readLong();
+                final long info = input.readLong();
+                final long pos = input.readLong();
+                
+                final int typeId = (int) (info >>> 56);
+                final String type = typeId < types.length ? types[typeId].name() : "UNKNOWN_" + typeId;
+                final int data = (int) (info >>> 32 & 0xFFFFFF);
+                final int entityId = (int) info;
+                
+                // Positions are packed the same way as BlockPos#toLong.
+                final int x = (int) (pos >> 38);
+                final int y = (int) (pos << 26 >> 52);
+                final int z = (int) (pos << 38 >> 38);
+                
+                final String delta = index > 0 ? String.format("+%.3fms", (time - previous) / 1.0e6) : "";
+                previous = time;
+                
+                System.out.println(String.format("%s %12s  %-20s entity=%-8d pos=%d,%d,%d data=%d", format.format(new Date(dumpMillis - (dumpNanos - time) / 1_000_000L)), delta, type, entityId, x, y, z, data));
+            }
+        }
+    }
+}
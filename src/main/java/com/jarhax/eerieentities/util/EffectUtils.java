@@ -0,0 +1,33 @@
+package com.jarhax.eerieentities.util;
+
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.potion.PotionEffect;
+
+public class EffectUtils {
+    
+    /**
+     * Keeps an effect applied to an entity while a condition holds, without re-applying it every
+     * tick. A missing or weaker effect is applied as a copy of the given effect. Otherwise the
+     * given effect is combined into the active one, which tops its duration back up the same way
+     * {@link EntityLivingBase#addPotionEffect(PotionEffect)} would, but without allocating a new
+     * effect or marking the entity's effects as changed. Nothing the client sees changes when an
+     * effect of the same strength is extended.
+     *
+     * @param entity The entity to keep the effect on.
+     * @param effect The effect to maintain. This is never modified, so it can be shared.
+     */
+    public static void maintainEffect (EntityLivingBase entity, PotionEffect effect) {
+        
+        final PotionEffect active = entity.getActivePotionEffect(effect.getPotion());
+        
+        if (active == null || active.getAmplifier() < effect.getAmplifier()) {
+            
+            entity.addPotionEffect(new PotionEffect(effect));
+        }
+        
+        else {
+            
+            active.combine(effect);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.jarhax.eerieentities.util;
+
+import com.jarhax.eerieentities.EerieEntities;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.common.util.Constants.NBT;
+
+/**
+ * Reads and writes the packed state the mod's mobs save to NBT. Each mob packs its fields into
+ * the low 28 bits of a single int tag, and the top four bits hold the version of the layout.
+ * Mobs saved before this tag existed use their old string keyed tags, and are upgraded the next
+ * time they are saved. Each mob reads the layout matching the saved version, and keeps its
+ * defaults for a version it doesn't know.
+ */
+public class StateTag {
+    
+    public static final String KEY = "State";
+    
+    /**
+     * The current version of the packed layouts. This should be increased whenever the layout of
+     * any mob changes, and the readers given a branch for the new version so the old layout can
+     * still be read.
+     */
+    public static final int VERSION = 1;
+    
+    private static final int VERSION_SHIFT = 28;
+    private static final int DATA_MASK = (1 << VERSION_SHIFT) - 1;
+    
+    public static void write (NBTTagCompound compound, int data) {
+        
+        compound.setInteger(KEY, VERSION << VERSION_SHIFT | data & DATA_MASK);
+    }
+    
+    /**
+     * Checks if a mob was saved with a packed state.
+     *
+     * @param compound The tag the mob was saved to.
+     * @return Whether or not the tag has a packed state.
+     */
+    public static boolean hasState (NBTTagCompound compound) {
+        
+        return compound.hasKey(KEY, NBT.TAG_INT);
+    }
+    
+    public static int getVersion (NBTTagCompound compound) {
+        
+        return compound.getInteger(KEY) >>> VERSION_SHIFT;
+    }
+    
+    public static int read (NBTTagCompound compound) {
+        
+        return compound.getInteger(KEY) & DATA_MASK;
+    }
+    
+    /**
+     * Logs a packed state which was saved with a version that can't be read, such as one from a
+     * newer version of the mod.
+     *
+     * @param entity The mob being read.
+     * @param compound The tag the mob was saved to.
+     */
+    public static void warnUnknownVersion (Entity entity, NBTTagCompound compound) {
+        
+        EerieEntities.LOG.warn("Could not read the state of " + entity.getName() + " at " + entity.getPosition() + ", it was saved with unknown version " + getVersion(compound) + ". It will use its default state.");
+    }
+}
@@ -0,0 +1,110 @@
+package com.jarhax.eerieentities.util;
+
+import java.util.Random;
+
+/**
+ * A weighted random table which uses Vose's alias method. Building the table takes linear
+ * time, and every draw after that takes constant time and does not allocate. The table only
+ * deals with indexes, so it can be used with arrays, enums and lists alike.
+ */
+public class WeightedTable {
+    
+    private final double[] probability;
+    private final int[] alias;
+    
+    /**
+     * Creates a new table. Negative weights are treated as zero, and if every weight is zero
+     * all indexes are equally likely.
+     *
+     * @param weights The weight of each index.
+     */
+    public WeightedTable(int... weights) {
+        
+        if (weights.length == 0) {
+            
+            throw new IllegalArgumentException("A weighted table needs at least one entry.");
+        }
+        
+        final int size = weights.length;
+        this.probability = new double[size];
+        this.alias = new int[size];
+        
+        long total = 0;
+        
+        for (final int weight : weights) {
+            
+            total += Math.max(weight, 0);
+        }
+        
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        
+        for (int i = 0; i < size; i++) {
+            
+            this.alias[i] = i;
+            scaled[i] = total > 0 ? (double) Math.max(weights[i], 0) * size / total : 1d;
+            
+            if (scaled[i] < 1d) {
+                
+                small[smallCount++] = i;
+            }
+            
+            else {
+                
+                large[largeCount++] = i;
+            }
+        }
+        
+        // Pair each under filled column with an over filled one.
+        while (smallCount > 0 && largeCount > 0) {
+            
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            
+            this.probability[less] = scaled[less];
+            this.alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1d;
+            
+            if (scaled[more] < 1d) {
+                
+                small[smallCount++] = more;
+            }
+            
+            else {
+                
+                large[largeCount++] = more;
+            }
+        }
+        
+        // Anything left over is full, give or take rounding errors.
+        while (largeCount > 0) {
+            
+            this.probability[large[--largeCount]] = 1d;
+        }
+        
+        while (smallCount > 0) {
+            
+            this.probability[small[--smallCount]] = 1d;
+        }
+    }
+    
+    /**
+     * Picks a random index from the table.
+     *
+     * @param rand The random to use.
+     * @return The picked index.
+     */
+    public int nextIndex (Random rand) {
+        
+        final int column = rand.nextInt(this.probability.length);
+        return rand.nextDouble() < this.probability[column] ? column : this.alias[column];
+    }
+    
+    public int size () {
+        
+        return this.probability.length;
+    }
+}
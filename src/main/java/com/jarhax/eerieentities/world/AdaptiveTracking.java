@@ -0,0 +1,94 @@
+package com.jarhax.eerieentities.world;
+
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Adjusts the tracker update interval of the mod's mobs based on what they are doing. Mobs in
+ * combat are updated more often than their configured interval, slow mobs less often, and mobs
+ * which are not moving at all, such as pumpkin slimes in block form, only once a second.
+ */
+@EventBusSubscriber
+public class AdaptiveTracking {
+    
+    /**
+     * The amount of ticks between each adjustment.
+     */
+    private static final int PERIOD = 20;
+    
+    /**
+     * The update interval used for mobs which are not moving.
+     */
+    private static final int IDLE_FREQUENCY = 20;
+    
+    /**
+     * The squared distance per tick below which a mob is considered to not be moving.
+     */
+    private static final double IDLE_SPEED = 0.001d * 0.001d;
+    
+    /**
+     * The squared distance per tick below which a mob is considered slow.
+     */
+    private static final double SLOW_SPEED = 0.05d * 0.05d;
+    
+    /**
+     * Picks the update interval for a mob.
+     *
+     * @param entity The mob to pick the interval for.
+     * @param config The config of the mob.
+     * @return The amount of ticks between tracker updates for the mob.
+     */
+    public static int getUpdateFrequency (EntityLiving entity, MobConfig config) {
+        
+        final int base = config.getUpdateFrequency();
+        
+        if (entity.getAttackTarget() != null || entity.hurtTime > 0) {
+            
+            return Math.max(1, base / 3);
+        }
+        
+        final double dx = entity.posX - entity.prevPosX;
+        final double dy = entity.posY - entity.prevPosY;
+        final double dz = entity.posZ - entity.prevPosZ;
+        final double speed = dx * dx + dy * dy + dz * dz;
+        
+        if (speed < IDLE_SPEED) {
+            
+            return Math.max(base, IDLE_FREQUENCY);
+        }
+        
+        return speed < SLOW_SPEED ? base * 2 : base;
+    }
+    
+    @SubscribeEvent
+    public static void onWorldTick (TickEvent.WorldTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && !event.world.isRemote && Config.adaptiveTracking && event.world.getTotalWorldTime() % PERIOD == 0) {
+            
+            final WorldTracker tracker = WorldTracker.get(event.world);
+            
+            if (tracker != null) {
+                
+                for (final MobConfig config : MobConfig.mobConfigs) {
+                    
+                    for (final Entity entity : tracker.getMobs(config)) {
+                        
+                        final EntityTrackerEntry entry = EntityTrackerHelper.getEntry(entity);
+                        
+                        if (entry != null) {
+                            
+                            EntityTrackerHelper.setUpdateFrequency(entry, getUpdateFrequency((EntityLiving) entity, config));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.jarhax.eerieentities.world;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.living.LivingExperienceDropEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+/**
+ * Collects the item drops and experience of the mod's mobs that die in the same chunk section
+ * during the same tick, and spawns them as one stack per item type and one experience orb at
+ * the end of the tick. Everything is spawned where the first of those mobs died, so it never
+ * ends up inside a block between them. This keeps large die offs from flooding the world with
+ * item entities which then have to merge one tick at a time.
+ */
+@EventBusSubscriber
+public class DeathAggregator {
+    
+    private final World world;
+    private final Long2ObjectOpenHashMap<Cluster> clusters = new Long2ObjectOpenHashMap<>();
+    
+    public DeathAggregator(World world) {
+        
+        this.world = world;
+    }
+    
+    private Cluster getCluster (Entity entity) {
+        
+        final long key = ((long) entity.chunkCoordX & 0x3FFFFFFL) << 30 | ((long) entity.chunkCoordZ & 0x3FFFFFFL) << 4 | entity.chunkCoordY & 15;
+        Cluster cluster = this.clusters.get(key);
+        
+        if (cluster == null) {
+            
+            cluster = new Cluster();
+            this.clusters.put(key, cluster);
+        }
+        
+        cluster.addDeath(entity);
+        return cluster;
+    }
+    
+    /**
+     * Spawns everything that was collected this tick.
+     */
+    public void flush () {
+        
+        if (this.clusters.isEmpty()) {
+            
+            return;
+        }
+        
+        for (final Cluster cluster : this.clusters.values()) {
+            
+            for (final ItemStack stack : cluster.stacks) {
+                
+                final EntityItem item = new EntityItem(this.world, cluster.x, cluster.y, cluster.z, stack);
+                item.setDefaultPickupDelay();
+                this.world.spawnEntity(item);
+            }
+            
+            if (cluster.experience > 0) {
+                
+                this.world.spawnEntity(new EntityXPOrb(this.world, cluster.x, cluster.y, cluster.z, cluster.experience));
+            }
+        }
+        
+        this.clusters.clear();
+    }
+    
+    private static DeathAggregator getAggregator (Entity entity) {
+        
+        if (!Config.aggregateDeathDrops || entity.world.isRemote || MobConfig.getConfig(entity.getClass()) == null) {
+            
+            return null;
+        }
+        
+        final WorldTracker tracker = WorldTracker.get(entity.world);
+        return tracker != null ? tracker.getDeaths() : null;
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onLivingDrops (LivingDropsEvent event) {
+        
+        final DeathAggregator aggregator = getAggregator(event.getEntityLiving());
+        
+        if (aggregator != null) {
+            
+            final Cluster cluster = aggregator.getCluster(event.getEntityLiving());
+            
+            for (final EntityItem drop : event.getDrops()) {
+                
+                cluster.addStack(drop.getItem());
+            }
+            
+            event.setCanceled(true);
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onExperienceDrop (LivingExperienceDropEvent event) {
+        
+        final DeathAggregator aggregator = getAggregator(event.getEntityLiving());
+        
+        if (aggregator != null && event.getDroppedExperience() > 0) {
+            
+            aggregator.getCluster(event.getEntityLiving()).experience += event.getDroppedExperience();
+            event.setCanceled(true);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onWorldTick (TickEvent.WorldTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && !event.world.isRemote) {
+            
+            final WorldTracker tracker = WorldTracker.get(event.world);
+            
+            if (tracker != null) {
+                
+                tracker.getDeaths().flush();
+            }
+        }
+    }
+    
+    private static class Cluster {
+        
+        private final List<ItemStack> stacks = new ArrayList<>();
+        private int experience;
+        private boolean hasPosition;
+        private double x;
+        private double y;
+        private double z;
+        
+        private void addDeath (Entity entity) {
+            
+            // The drops of a single mob spawn at its own position, which is known to be open.
+            // An average of several positions could be inside of a block.
+            if (!this.hasPosition) {
+                
+                this.hasPosition = true;
+                this.x = entity.posX;
+                this.y = entity.posY;
+                this.z = entity.posZ;
+            }
+        }
+        
+        private void addStack (ItemStack stack) {
+            
+            ItemStack remaining = stack.copy();
+            
+            for (final ItemStack existing : this.stacks) {
+                
+                if (existing.getCount() < existing.getMaxStackSize() && ItemHandlerHelper.canItemStacksStack(existing, remaining)) {
+                    
+                    final int moved = Math.min(remaining.getCount(), existing.getMaxStackSize() - existing.getCount());
+                    existing.grow(moved);
+                    remaining.shrink(moved);
+                    
+                    if (remaining.isEmpty()) {
+                        
+                        return;
+                    }
+                }
+            }
+            
+            if (!remaining.isEmpty()) {
+                
+                this.stacks.add(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jarhax.eerieentities.world;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.network.MessageEffects;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
+
+/**
+ * Collects the visual effects played by the mod's mobs during a tick and sends them as one
+ * {@link MessageEffects} per chunk section at the end of the tick. Each effect is four bytes,
+ * the effect id followed by the position within the section in sixteenths of a block. The
+ * client spawns the particles for each effect itself.
+ */
+@EventBusSubscriber
+public class EffectBatcher {
+    
+    /**
+     * The distance effects are sent to players from. This is the default entity tracking range
+     * plus the distance from the center of a section to its corner.
+     */
+    private static final double RANGE = 64d + 14d;
+    
+    private final World world;
+    private final Long2ObjectOpenHashMap<ByteArrayList> sections = new Long2ObjectOpenHashMap<>();
+    
+    public EffectBatcher(World world) {
+        
+        this.world = world;
+    }
+    
+    /**
+     * Queues an effect at a position. It is sent to nearby players at the end of the tick.
+     *
+     * @param effect The effect to play.
+     * @param x The x position of the effect.
+     * @param y The y position of the effect.
+     * @param z The z position of the effect.
+     */
+    public void add (Effect effect, double x, double y, double z) {
+        
+        final int sectionX = MathHelper.floor(x) >> 4;
+        final int sectionY = MathHelper.clamp(MathHelper.floor(y) >> 4, 0, 15);
+        final int sectionZ = MathHelper.floor(z) >> 4;
+        final long key = ((long) sectionX & 0x3FFFFFFL) << 30 | ((long) sectionZ & 0x3FFFFFFL) << 4 | sectionY;
+        ByteArrayList effects = this.sections.get(key);
+        
+        if (effects == null) {
+            
+            effects = new ByteArrayList();
+            this.sections.put(key, effects);
+        }
+        
+        effects.add((byte) effect.ordinal());
+        effects.add(toLocal(x, sectionX));
+        effects.add(toLocal(y, sectionY));
+        effects.add(toLocal(z, sectionZ));
+    }
+    
+    /**
+     * Sends everything that was queued this tick.
+     */
+    public void flush () {
+        
+        if (this.sections.isEmpty()) {
+            
+            return;
+        }
+        
+        for (final Long2ObjectMap.Entry<ByteArrayList> entry : this.sections.long2ObjectEntrySet()) {
+            
+            final long key = entry.getLongKey();
+            final int sectionX = (int) (key << 8 >> 38);
+            final int sectionZ = (int) (key << 34 >> 38);
+            final int sectionY = (int) (key & 15);
+            final TargetPoint point = new TargetPoint(this.world.provider.getDimension(), (sectionX << 4) + 8, (sectionY << 4) + 8, (sectionZ << 4) + 8, RANGE);
+            EerieEntities.NETWORK.sendToAllAround(new MessageEffects(sectionX, sectionY, sectionZ, entry.getValue().toByteArray()), point);
+        }
+        
+        this.sections.clear();
+    }
+    
+    private static byte toLocal (double pos, int section) {
+        
+        return (byte) MathHelper.clamp((int) ((pos - (section << 4)) * 16d), 0, 255);
+    }
+    
+    /**
+     * Queues an effect at the position of an entity. This does nothing on the client.
+     *
+     * @param entity The entity playing the effect.
+     * @param effect The effect to play.
+     */
+    public static void play (Entity entity, Effect effect) {
+        
+        final WorldTracker tracker = WorldTracker.get(entity.world);
+        
+        if (tracker != null) {
+            
+            tracker.getEffects().add(effect, entity.posX, entity.posY, entity.posZ);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onWorldTick (TickEvent.WorldTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && !event.world.isRemote) {
+            
+            final WorldTracker tracker = WorldTracker.get(event.world);
+            
+            if (tracker != null) {
+                
+                tracker.getEffects().flush();
+            }
+        }
+    }
+    
+    public enum Effect {
+        
+        DESPAWN,
+        SOLIDIFY,
+        TAME_SUCCESS,
+        TAME_FAIL;
+        
+        private static final Effect[] VALUES = values();
+        
+        public static Effect byOrdinal (int ordinal) {
+            
+            return VALUES[ordinal % VALUES.length];
+        }
+    }
+}
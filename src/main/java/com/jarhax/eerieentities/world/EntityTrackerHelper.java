@@ -0,0 +1,130 @@
+package com.jarhax.eerieentities.world;
+
+import java.lang.reflect.Field;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.EerieEntities;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTracker;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.util.IntHashMap;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+/**
+ * Changes the tracker settings of individual entities after they start being tracked. The
+ * settings are normally fixed per entity type when the entity is registered. If the fields can
+ * not be found, every method here does nothing.
+ */
+public class EntityTrackerHelper {
+    
+    private static final Field trackedEntities = findField(EntityTracker.class, "trackedEntityHashTable", "field_72794_c");
+    private static final Field range = findField(EntityTrackerEntry.class, "range", "field_73130_b");
+    private static final Field updateFrequency = findField(EntityTrackerEntry.class, "updateFrequency", "field_73131_c");
+    private static final Field sendVelocityUpdates = findField(EntityTrackerEntry.class, "sendVelocityUpdates", "field_73143_t");
+    
+    /**
+     * Gets the tracker entry of an entity.
+     *
+     * @param entity The entity to look up.
+     * @return The tracker entry, or null if the entity is not tracked.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static EntityTrackerEntry getEntry (Entity entity) {
+        
+        if (trackedEntities == null || !(entity.world instanceof WorldServer)) {
+            
+            return null;
+        }
+        
+        try {
+            
+            final IntHashMap<EntityTrackerEntry> entries = (IntHashMap<EntityTrackerEntry>) trackedEntities.get(((WorldServer) entity.world).getEntityTracker());
+            return entries.lookup(entity.getEntityId());
+        }
+        
+        catch (final IllegalAccessException e) {
+            
+            EerieEntities.LOG.catching(e);
+            return null;
+        }
+    }
+    
+    /**
+     * Changes the distance players can track an entity from. This is still limited by the view
+     * distance of the server.
+     *
+     * @param entry The tracker entry to change.
+     * @param blocks The tracking range in blocks.
+     */
+    public static void setTrackingRange (EntityTrackerEntry entry, int blocks) {
+        
+        setInt(range, entry, blocks);
+    }
+    
+    /**
+     * Changes how often the tracker sends position updates for an entity.
+     *
+     * @param entry The tracker entry to change.
+     * @param ticks The amount of ticks between updates.
+     */
+    public static void setUpdateFrequency (EntityTrackerEntry entry, int ticks) {
+        
+        setInt(updateFrequency, entry, Math.max(ticks, 1));
+    }
+    
+    /**
+     * Changes whether or not the tracker sends velocity updates for an entity.
+     *
+     * @param entry The tracker entry to change.
+     * @param velocity Whether or not velocity updates should be sent.
+     */
+    public static void setSendsVelocityUpdates (EntityTrackerEntry entry, boolean velocity) {
+        
+        if (sendVelocityUpdates != null) {
+            
+            try {
+                
+                sendVelocityUpdates.setBoolean(entry, velocity);
+            }
+            
+            catch (final IllegalAccessException e) {
+                
+                EerieEntities.LOG.catching(e);
+            }
+        }
+    }
+    
+    private static void setInt (Field field, EntityTrackerEntry entry, int value) {
+        
+        if (field != null) {
+            
+            try {
+                
+                field.setInt(entry, value);
+            }
+            
+            catch (final IllegalAccessException e) {
+                
+                EerieEntities.LOG.catching(e);
+            }
+        }
+    }
+    
+    private static Field findField (Class<?> owner, String... names) {
+        
+        try {
+            
+            return ReflectionHelper.findField(owner, names);
+        }
+        
+        catch (final Exception e) {
+            
+            EerieEntities.LOG.warn("Could not access the entity tracker, tracker settings will not be changed. " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jarhax.eerieentities.world;
+
+import java.util.List;
+import java.util.Set;
+
+import com.jarhax.eerieentities.config.MobConfig;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+
+/**
+ * Counts the mod's mobs around each player, so natural spawning can skip players who already
+ * have their share of a mob. Counts are rebuilt at most once per tick, and only when a spawn
+ * attempt asks for them, so the cost follows the amount of players and tracked mobs rather than
+ * every entity in the world.
+ */
+public class PlayerSpawnBudget {
+    
+    private final World world;
+    private final List<Set<Entity>> mobs;
+    private final Int2ObjectOpenHashMap<int[]> counts = new Int2ObjectOpenHashMap<>();
+    private long countedAt = -1L;
+    
+    public PlayerSpawnBudget(World world, List<Set<Entity>> mobs) {
+        
+        this.world = world;
+        this.mobs = mobs;
+    }
+    
+    /**
+     * Checks if the player closest to a spawn attempt already has the max amount of a mob near
+     * them.
+     *
+     * @param config The config of the mob being spawned.
+     * @param x The x position of the spawn attempt.
+     * @param y The y position of the spawn attempt.
+     * @param z The z position of the spawn attempt.
+     * @return Whether or not the spawn attempt should fail.
+     */
+    public boolean isOverBudget (MobConfig config, double x, double y, double z) {
+        
+        if (config.getMaxPerPlayer() <= 0) {
+            
+            return false;
+        }
+        
+        final EntityPlayer player = this.world.getClosestPlayer(x, y, z, -1d, false);
+        
+        if (player == null) {
+            
+            return false;
+        }
+        
+        if (this.countedAt != this.world.getTotalWorldTime()) {
+            
+            this.countedAt = this.world.getTotalWorldTime();
+            this.recount();
+        }
+        
+        final int[] playerCounts = this.counts.get(player.getEntityId());
+        return playerCounts != null && playerCounts[config.getId()] >= config.getMaxPerPlayer();
+    }
+    
+    /**
+     * Forgets the counts of a player that left the world.
+     *
+     * @param player The player that was removed.
+     */
+    public void removePlayer (EntityPlayer player) {
+        
+        this.counts.remove(player.getEntityId());
+    }
+    
+    private void recount () {
+        
+        final MinecraftServer server = this.world.getMinecraftServer();
+        final int radius = server != null ? server.getPlayerList().getViewDistance() : 10;
+        
+        for (final EntityPlayer player : this.world.playerEntities) {
+            
+            int[] playerCounts = this.counts.get(player.getEntityId());
+            
+            if (playerCounts == null || playerCounts.length != this.mobs.size()) {
+                
+                playerCounts = new int[this.mobs.size()];
+                this.counts.put(player.getEntityId(), playerCounts);
+            }
+            
+            for (int id = 0; id < playerCounts.length; id++) {
+                
+                playerCounts[id] = 0;
+            }
+        }
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            if (config.getMaxPerPlayer() <= 0) {
+                
+                continue;
+            }
+            
+            for (final Entity mob : this.mobs.get(config.getId())) {
+                
+                for (final EntityPlayer player : this.world.playerEntities) {
+                    
+                    if (Math.abs(mob.chunkCoordX - player.chunkCoordX) <= radius && Math.abs(mob.chunkCoordZ - player.chunkCoordZ) <= radius) {
+                        
+                        this.counts.get(player.getEntityId())[config.getId()]++;
+                    }
+                }
+            }
+        }
+    }
+}
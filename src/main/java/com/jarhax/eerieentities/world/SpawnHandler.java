@@ -0,0 +1,165 @@
+package com.jarhax.eerieentities.world;
+
+import java.util.List;
+
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+import com.jarhax.eerieentities.entities.EntityWisp;
+import com.jarhax.eerieentities.world.SpawnTelemetry.Outcome;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome.SpawnListEntry;
+import net.minecraftforge.event.entity.living.LivingSpawnEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.Event.Result;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Filters the natural spawns of the mod's mobs. A failed check always fails the spawn attempt.
+ * Removing a mob from the potential spawn list instead would give its share of the spawn weight
+ * to every other mob in the biome.
+ *
+ * Wisps are checked while the potential spawn list is built, before any entity is constructed.
+ * That list is built twice for every attempt, once to pick an entry and once to confirm it, so
+ * the checks done there must give the same answer for the same attempt. Spawn budgets depend on
+ * the mob that was picked, so they are checked once it has been constructed.
+ */
+@EventBusSubscriber
+public class SpawnHandler {
+    
+    /**
+     * The stand ins used for wisp entries at positions that failed the region check.
+     */
+    private static final Reference2ObjectOpenHashMap<SpawnListEntry, DeniedEntry> denied = new Reference2ObjectOpenHashMap<>();
+    
+    private static int lastDimension;
+    private static long lastPos;
+    private static long lastTime = -1L;
+    
+    @SubscribeEvent
+    public static void onPotentialSpawns (WorldEvent.PotentialSpawns event) {
+        
+        final World world = event.getWorld();
+        final WorldTracker tracker = WorldTracker.get(world);
+        
+        if (tracker == null) {
+            
+            return;
+        }
+        
+        final List<SpawnListEntry> entries = event.getList();
+        
+        for (int i = 0; i < entries.size(); i++) {
+            
+            final SpawnListEntry entry = entries.get(i);
+            
+            if (entry.entityClass != EntityWisp.class) {
+                
+                continue;
+            }
+            
+            final Outcome outcome = EntityWisp.checkRegion(world, tracker.getSuitability(), event.getPos());
+            
+            if (outcome != Outcome.ACCEPTED) {
+                
+                entries.set(i, getDenied(entry));
+                recordOnce(world, event.getPos(), outcome);
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onCheckSpawn (LivingSpawnEvent.CheckSpawn event) {
+        
+        if (event.isSpawner() || event.getResult() == Result.DENY) {
+            
+            return;
+        }
+        
+        final World world = event.getWorld();
+        final WorldTracker tracker = WorldTracker.get(world);
+        final MobConfig config = MobConfig.getConfig(event.getEntityLiving().getClass());
+        
+        // The nearest player already has enough of this mob around them.
+        if (tracker != null && config != null && tracker.getBudget().isOverBudget(config, event.getX(), event.getY(), event.getZ())) {
+            
+            event.setResult(Result.DENY);
+            SpawnTelemetry.record(world, config, MathHelper.floor(event.getX()), MathHelper.floor(event.getZ()), Outcome.CAP);
+        }
+    }
+    
+    private static DeniedEntry getDenied (SpawnListEntry entry) {
+        
+        DeniedEntry stand = denied.get(entry);
+        
+        if (stand == null) {
+            
+            stand = new DeniedEntry(entry);
+            denied.put(entry, stand);
+        }
+        
+        // Spawn weights can be changed by other mods after the entry was added.
+        stand.itemWeight = entry.itemWeight;
+        return stand;
+    }
+    
+    /**
+     * Records a failed region check. The mob for an attempt is not known while the list is
+     * built, so these are counted once for every position the spawner checks in a biome that
+     * has wisps, whichever mob it picked for the attempt.
+     *
+     * @param world The world being spawned in.
+     * @param pos The position of the spawn attempt.
+     * @param outcome Why the region check failed.
+     */
+    private static void recordOnce (World world, BlockPos pos, Outcome outcome) {
+        
+        final int dimension = world.provider.getDimension();
+        final long packed = pos.toLong();
+        final long time = world.getTotalWorldTime();
+        
+        if (dimension != lastDimension || packed != lastPos || time != lastTime) {
+            
+            lastDimension = dimension;
+            lastPos = packed;
+            lastTime = time;
+            SpawnTelemetry.record(world, Config.wisp, pos.getX(), pos.getZ(), outcome);
+        }
+    }
+    
+    /**
+     * Takes the place of a wisp entry at a position where wisps can not spawn. It keeps the
+     * weight of the entry, so the chances of every other mob being picked stay the same. The
+     * spawner confirms the picked entry by looking for it in the list built for each position,
+     * using the picked entry's equals method. This entry is only equal to the real wisp entry, so
+     * when it was picked the attempt fails at every position where the wisp was denied, and goes
+     * ahead as a normal wisp spawn where it was not. When the real entry was picked, it is not
+     * found at denied positions since it uses identity equality.
+     */
+    private static class DeniedEntry extends SpawnListEntry {
+        
+        private final SpawnListEntry entry;
+        
+        DeniedEntry(SpawnListEntry entry) {
+            
+            super(entry.entityClass, entry.itemWeight, entry.minGroupCount, entry.maxGroupCount);
+            this.entry = entry;
+        }
+        
+        @Override
+        public boolean equals (Object other) {
+            
+            return other == this.entry;
+        }
+        
+        @Override
+        public int hashCode () {
+            
+            return this.entry.hashCode();
+        }
+    }
+}
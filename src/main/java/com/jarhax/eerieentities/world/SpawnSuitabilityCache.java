@@ -0,0 +1,156 @@
+package com.jarhax.eerieentities.world;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * Caches a summary of the light levels in each 16x16x16 chunk section, so spawn checks can
+ * reject whole sections without reading the light around each attempt. Each summary holds the
+ * lowest block light and lowest sky light in the section, which gives a lower bound for the
+ * light level of every position inside of it. Summaries are dropped whenever the world reports
+ * a light change in the section, and are also refreshed after {@link #MAX_AGE} ticks.
+ */
+public class SpawnSuitabilityCache {
+    
+    /**
+     * The amount of ticks a summary is trusted for. Some light changes, such as initial chunk
+     * lighting, are not reported to world listeners.
+     */
+    private static final long MAX_AGE = 600;
+    
+    private final World world;
+    private final Long2LongOpenHashMap sections = new Long2LongOpenHashMap();
+    
+    public SpawnSuitabilityCache(World world) {
+        
+        this.world = world;
+        this.sections.defaultReturnValue(-1L);
+    }
+    
+    /**
+     * Checks if every position in the section containing the given position has a light level
+     * above the max light level. The sky light is reduced using the current skylight subtracted
+     * value of the world, so the result matches {@link World#getLightFromNeighbors(BlockPos)}.
+     *
+     * @param pos The position to check.
+     * @param maxLight The highest light level that is still suitable.
+     * @return Whether or not the whole section is too bright.
+     */
+    public boolean isTooBright (BlockPos pos, int maxLight) {
+        
+        final long summary = this.getSummary(pos);
+        
+        if (summary < 0) {
+            
+            return false;
+        }
+        
+        final int minSky = (int) (summary & 15) - this.world.getSkylightSubtracted();
+        final int minBlock = (int) (summary >> 4 & 15);
+        return Math.max(minSky, minBlock) > maxLight;
+    }
+    
+    /**
+     * Drops the summary for the section that contains the given position.
+     *
+     * @param pos The position that had a light change.
+     */
+    public void invalidate (BlockPos pos) {
+        
+        this.sections.remove(getKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+    }
+    
+    /**
+     * Drops the summaries for every section in a chunk.
+     *
+     * @param chunkX The x position of the chunk.
+     * @param chunkZ The z position of the chunk.
+     */
+    public void invalidateChunk (int chunkX, int chunkZ) {
+        
+        for (int sectionY = 0; sectionY < 16; sectionY++) {
+            
+            this.sections.remove(getKey(chunkX, sectionY, chunkZ));
+        }
+    }
+    
+    public void clear () {
+        
+        this.sections.clear();
+    }
+    
+    /**
+     * Gets the packed summary for a section. The lowest four bits hold the min sky light, the
+     * next four hold the min block light, and the rest hold the world time it was made at.
+     *
+     * @param pos The position to get the summary for.
+     * @return The packed summary, or -1 if it could not be created.
+     */
+    private long getSummary (BlockPos pos) {
+        
+        if (pos.getY() < 0 || pos.getY() > 255) {
+            
+            return -1L;
+        }
+        
+        final int chunkX = pos.getX() >> 4;
+        final int sectionY = pos.getY() >> 4;
+        final int chunkZ = pos.getZ() >> 4;
+        final long key = getKey(chunkX, sectionY, chunkZ);
+        final long time = this.world.getTotalWorldTime();
+        long summary = this.sections.get(key);
+        
+        if (summary < 0 || time - (summary >>> 8) > MAX_AGE) {
+            
+            // Only summarize loaded chunks, spawn checks should never load chunks.
+            final Chunk chunk = this.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+            
+            if (chunk == null) {
+                
+                return -1L;
+            }
+            
+            final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+            
+            // Empty sections are treated as fully dark, so they are never rejected.
+            final int minBlock = storage == Chunk.NULL_BLOCK_STORAGE ? 0 : getMinLight(storage.getBlockLight());
+            final int minSky = storage == Chunk.NULL_BLOCK_STORAGE ? 0 : getMinLight(storage.getSkyLight());
+            
+            summary = time << 8 | minBlock << 4 | minSky;
+            this.sections.put(key, summary);
+        }
+        
+        return summary;
+    }
+    
+    private static int getMinLight (NibbleArray light) {
+        
+        if (light == null) {
+            
+            return 0;
+        }
+        
+        int min = 15;
+        
+        for (final byte value : light.getData()) {
+            
+            min = Math.min(min, Math.min(value & 15, value >> 4 & 15));
+            
+            if (min == 0) {
+                
+                break;
+            }
+        }
+        
+        return min;
+    }
+    
+    private static long getKey (int chunkX, int sectionY, int chunkZ) {
+        
+        return ((long) chunkX & 0x3FFFFFFL) << 30 | ((long) chunkZ & 0x3FFFFFFL) << 4 | sectionY & 15;
+    }
+}
@@ -0,0 +1,266 @@
+package com.jarhax.eerieentities.world;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.jarhax.eerieentities.EerieEntities;
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.config.MobConfig;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos.PooledMutableBlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.event.entity.living.LivingSpawnEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.Event.Result;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Counts the natural spawn attempts of the mod's mobs by biome and outcome. Attempts failed by
+ * {@link SpawnHandler} are counted there, and the rest are counted when the entity is checked.
+ * Wisp region checks fail before the mob for an attempt is known, so they are counted for each
+ * position checked in a biome with wisps.
+ * The checks of each mob report why they failed through {@link #reject(Outcome)}.
+ */
+@EventBusSubscriber
+public class SpawnTelemetry {
+    
+    private static final int BIOMES = 256;
+    private static final int OUTCOMES = Outcome.values().length;
+    
+    private static long[] counts;
+    private static Outcome rejection;
+    private static int ticks;
+    
+    /**
+     * Records why a spawn check failed. This is meant to be returned from the check itself.
+     *
+     * @param outcome The reason the check failed.
+     * @return Always false.
+     */
+    public static boolean reject (Outcome outcome) {
+        
+        rejection = outcome;
+        return false;
+    }
+    
+    /**
+     * Takes the reason given to the last {@link #reject(Outcome)} call.
+     *
+     * @return The reason of the last rejection, or {@link Outcome#OTHER} if none was given.
+     */
+    private static Outcome takeRejection () {
+        
+        final Outcome outcome = rejection != null ? rejection : Outcome.OTHER;
+        rejection = null;
+        return outcome;
+    }
+    
+    /**
+     * Counts a spawn attempt in the biome it was made in.
+     *
+     * @param world The world of the attempt.
+     * @param config The mob that tried to spawn.
+     * @param x The block x position of the attempt.
+     * @param z The block z position of the attempt.
+     * @param outcome The outcome of the attempt.
+     */
+    public static void record (World world, MobConfig config, int x, int z, Outcome outcome) {
+        
+        if (!Config.spawnTelemetry) {
+            
+            return;
+        }
+        
+        if (counts == null) {
+            
+            counts = new long[MobConfig.mobConfigs.size() * BIOMES * OUTCOMES];
+        }
+        
+        final PooledMutableBlockPos pos = PooledMutableBlockPos.retain(x, 0, z);
+        final int biome = Biome.getIdForBiome(world.getBiome(pos)) & BIOMES - 1;
+        pos.release();
+        counts[(config.getId() * BIOMES + biome) * OUTCOMES + outcome.ordinal()]++;
+    }
+    
+    /**
+     * Gets a counter for a mob.
+     *
+     * @param config The mob to get the counter of.
+     * @param biome The id of the biome, or -1 for all biomes.
+     * @param outcome The outcome to count, or null for every attempt.
+     * @return The amount of matching spawn attempts.
+     */
+    public static long getCount (MobConfig config, int biome, Outcome outcome) {
+        
+        if (counts == null) {
+            
+            return 0;
+        }
+        
+        long count = 0;
+        
+        for (int id = biome < 0 ? 0 : biome; id < (biome < 0 ? BIOMES : biome + 1); id++) {
+            
+            final int base = (config.getId() * BIOMES + id) * OUTCOMES;
+            
+            for (int index = 0; index < OUTCOMES; index++) {
+                
+                if (outcome == null || outcome.ordinal() == index) {
+                    
+                    count += counts[base + index];
+                }
+            }
+        }
+        
+        return count;
+    }
+    
+    public static void reset () {
+        
+        counts = null;
+    }
+    
+    /**
+     * Writes every non zero counter to a CSV file, replacing the last dump.
+     *
+     * @param server The running server.
+     * @return The file that was written.
+     * @throws IOException If the file could not be written.
+     */
+    public static File dump (MinecraftServer server) throws IOException {
+        
+        final StringBuilder csv = new StringBuilder("mob,biome,attempts");
+        
+        for (final Outcome outcome : Outcome.values()) {
+            
+            csv.append(',').append(outcome.getName());
+        }
+        
+        csv.append('\n');
+        
+        for (final MobConfig config : MobConfig.mobConfigs) {
+            
+            for (int biome = 0; biome < BIOMES; biome++) {
+                
+                final long attempts = getCount(config, biome, null);
+                
+                if (attempts > 0) {
+                    
+                    csv.append(config.getName()).append(',').append(getBiomeName(biome)).append(',').append(attempts);
+                    
+                    for (final Outcome outcome : Outcome.values()) {
+                        
+                        csv.append(',').append(getCount(config, biome, outcome));
+                    }
+                    
+                    csv.append('\n');
+                }
+            }
+        }
+        
+        final File directory = EerieEntities.getOutputDirectory(server, "spawns");
+        
+        if (!directory.exists() && !directory.mkdirs()) {
+            
+            throw new IOException("Could not create " + directory);
+        }
+        
+        final File file = new File(directory, "spawns.csv");
+        Files.write(file.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+    
+    public static String getBiomeName (int id) {
+        
+        final Biome biome = Biome.getBiome(id);
+        return biome != null && biome.getRegistryName() != null ? biome.getRegistryName().toString() : Integer.toString(id);
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onCheckSpawn (LivingSpawnEvent.CheckSpawn event) {
+        
+        if (!Config.spawnTelemetry || event.isSpawner() || event.getResult() != Result.DEFAULT || !(event.getEntityLiving() instanceof EntityLiving)) {
+            
+            return;
+        }
+        
+        final MobConfig config = MobConfig.getConfig(event.getEntityLiving().getClass());
+        
+        if (config != null) {
+            
+            final EntityLiving entity = (EntityLiving) event.getEntityLiving();
+            Outcome outcome = Outcome.ACCEPTED;
+            
+            // These are the same checks the spawner does for a default result, done here once
+            // so the reason can be recorded. The result is then set so they are not repeated.
+            rejection = null;
+            
+            if (!entity.getCanSpawnHere()) {
+                
+                outcome = takeRejection();
+            }
+            
+            else if (!entity.isNotColliding()) {
+                
+                outcome = Outcome.COLLISION;
+            }
+            
+            record(entity.world, config, MathHelper.floor(entity.posX), MathHelper.floor(entity.posZ), outcome);
+            event.setResult(outcome == Outcome.ACCEPTED ? Result.ALLOW : Result.DENY);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick (TickEvent.ServerTickEvent event) {
+        
+        if (event.phase == TickEvent.Phase.END && Config.spawnTelemetry && Config.spawnTelemetryInterval > 0 && ++ticks >= Config.spawnTelemetryInterval * 1200) {
+            
+            ticks = 0;
+            
+            try {
+                
+                dump(FMLCommonHandler.instance().getMinecraftServerInstance());
+            }
+            
+            catch (final IOException e) {
+                
+                EerieEntities.LOG.warn("Could not write the spawn telemetry. " + e.getMessage());
+            }
+        }
+    }
+    
+    public enum Outcome {
+        
+        ACCEPTED("accepted"),
+        LIGHT("light"),
+        RAIN("rain"),
+        ROLL("roll"),
+        COLLISION("collision"),
+        CAP("cap"),
+        BLOCK("block"),
+        CHUNK("chunk"),
+        HEIGHT("height"),
+        OTHER("other");
+        
+        private final String name;
+        
+        Outcome(String name) {
+            
+            this.name = name;
+        }
+        
+        public String getName () {
+            
+            return this.name;
+        }
+    }
+}
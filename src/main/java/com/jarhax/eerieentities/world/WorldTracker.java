@@ -0,0 +1,254 @@
+package com.jarhax.eerieentities.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+import com.jarhax.eerieentities.config.MobConfig;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Keeps track of server side world state that the mod needs to answer quickly, such as the
+ * spawn suitability of chunk sections and the loaded instances of each mob. One tracker is
+ * attached to every loaded server world as a world event listener.
+ */
+@EventBusSubscriber
+public class WorldTracker implements IWorldEventListener {
+    
+    private static final Map<World, WorldTracker> TRACKERS = new WeakHashMap<>();
+    
+    private final SpawnSuitabilityCache suitability;
+    private final List<Set<Entity>> mobs = new ArrayList<>();
+    private final Set<EntityLivingBase> blocking = new ReferenceOpenHashSet<>();
+    private final PlayerSpawnBudget budget;
+    private final DeathAggregator deaths;
+    private final EffectBatcher effects;
+    
+    private WorldTracker(World world) {
+        
+        this.suitability = new SpawnSuitabilityCache(world);
+        
+        for (int id = 0; id < MobConfig.mobConfigs.size(); id++) {
+            
+            this.mobs.add(new ReferenceOpenHashSet<>());
+        }
+        
+        this.budget = new PlayerSpawnBudget(world, this.mobs);
+        this.deaths = new DeathAggregator(world);
+        this.effects = new EffectBatcher(world);
+    }
+    
+    /**
+     * Gets the tracker for a world.
+     *
+     * @param world The world to get the tracker for.
+     * @return The tracker for the world, or null if the world is not tracked.
+     */
+    @Nullable
+    public static WorldTracker get (World world) {
+        
+        return TRACKERS.get(world);
+    }
+    
+    public SpawnSuitabilityCache getSuitability () {
+        
+        return this.suitability;
+    }
+    
+    public PlayerSpawnBudget getBudget () {
+        
+        return this.budget;
+    }
+    
+    public DeathAggregator getDeaths () {
+        
+        return this.deaths;
+    }
+    
+    public EffectBatcher getEffects () {
+        
+        return this.effects;
+    }
+    
+    /**
+     * Gets the entities in the world which started using a shield and have not stopped yet. Each
+     * entity is removed when it leaves the world.
+     *
+     * @return The blocking entities.
+     */
+    public Set<EntityLivingBase> getBlocking () {
+        
+        return this.blocking;
+    }
+    
+    /**
+     * Gets the loaded instances of a mob in the world.
+     *
+     * @param config The config of the mob.
+     * @return The loaded instances of the mob.
+     */
+    public Set<Entity> getMobs (MobConfig config) {
+        
+        return this.mobs.get(config.getId());
+    }
+    
+    @SubscribeEvent
+    public static void onWorldLoad (WorldEvent.Load event) {
+        
+        final World world = event.getWorld();
+        
+        if (!world.isRemote) {
+            
+            final WorldTracker tracker = new WorldTracker(world);
+            TRACKERS.put(world, tracker);
+            world.addEventListener(tracker);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onWorldUnload (WorldEvent.Unload event) {
+        
+        final WorldTracker tracker = TRACKERS.remove(event.getWorld());
+        
+        if (tracker != null) {
+            
+            event.getWorld().removeEventListener(tracker);
+            tracker.suitability.clear();
+            
+            for (final Set<Entity> instances : tracker.mobs) {
+                
+                instances.clear();
+            }
+            
+            tracker.blocking.clear();
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onChunkUnload (ChunkEvent.Unload event) {
+        
+        final WorldTracker tracker = TRACKERS.get(event.getWorld());
+        
+        if (tracker != null) {
+            
+            tracker.suitability.invalidateChunk(event.getChunk().x, event.getChunk().z);
+        }
+    }
+    
+    @Override
+    public void notifyLightSet (BlockPos pos) {
+        
+        this.suitability.invalidate(pos);
+    }
+    
+    @Override
+    public void onEntityAdded (Entity entity) {
+        
+        final MobConfig config = MobConfig.getConfig(entity.getClass());
+        
+        if (config != null) {
+            
+            this.mobs.get(config.getId()).add(entity);
+            
+            // The tracker entry is created by the server's own listener, which is added first.
+            final EntityTrackerEntry entry = EntityTrackerHelper.getEntry(entity);
+            
+            if (entry != null) {
+                
+                EntityTrackerHelper.setTrackingRange(entry, config.getTrackingRange());
+                EntityTrackerHelper.setUpdateFrequency(entry, config.getUpdateFrequency());
+                EntityTrackerHelper.setSendsVelocityUpdates(entry, config.isSendsVelocityUpdates());
+            }
+        }
+    }
+    
+    @Override
+    public void onEntityRemoved (Entity entity) {
+        
+        this.blocking.remove(entity);
+        final MobConfig config = MobConfig.getConfig(entity.getClass());
+        
+        if (config != null) {
+            
+            this.mobs.get(config.getId()).remove(entity);
+        }
+        
+        else if (entity instanceof EntityPlayer) {
+            
+            this.budget.removePlayer((EntityPlayer) entity);
+        }
+    }
+    
+    @Override
+    public void notifyBlockUpdate (World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        
+        // Light changes are reported separately.
+    }
+    
+    @Override
+    public void markBlockRangeForRenderUpdate (int x1, int y1, int z1, int x2, int y2, int z2) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void playSoundToAllNearExcept (@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void playRecord (SoundEvent sound, BlockPos pos) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void spawnParticle (int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void spawnParticle (int id, boolean ignoreRange, boolean minimiseLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void broadcastSound (int soundID, BlockPos pos, int data) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void playEvent (EntityPlayer player, int type, BlockPos pos, int data) {
+        
+        // Not used on the server.
+    }
+    
+    @Override
+    public void sendBlockBreakProgress (int breakerId, BlockPos pos, int progress) {
+        
+        // Not used on the server.
+    }
+}
@@ -0,0 +1,199 @@
+package com.jarhax.eerieentities.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jarhax.eerieentities.test.FloorWorld;
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.util.EffectUtils;
+import com.sun.management.ThreadMXBean;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.monster.EntitySkeleton;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.passive.EntityBat;
+import net.minecraft.init.MobEffects;
+import net.minecraft.potion.PotionEffect;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Checks that the mod's mobs stay within their allocation budgets. Each mob is given a budget of
+ * bytes per tick, based on what a similar vanilla mob allocates, and a few of their hot paths
+ * must not allocate at all. Everything is run until it is compiled, then the bytes allocated by
+ * this thread are measured over many more runs with {@link ThreadMXBean}.
+ */
+public class AllocationBudgetTest {
+    
+    private static final int WARMUP = 50_000;
+    private static final int RUNS = 200_000;
+    
+    /**
+     * The most bytes a path may allocate per run. This leaves room for the few bytes the
+     * measurement itself allocates, but any real allocation in the path goes over it.
+     */
+    private static final double BUDGET = 1d;
+    
+    private static final int WARMUP_TICKS = 5_000;
+    private static final int TICKS = 20_000;
+    
+    /**
+     * The bytes per tick a mob may allocate on top of the vanilla mob it is compared to. Vanilla
+     * AI allocates on most ticks, so a fixed budget would mostly measure that.
+     */
+    private static final double TICK_ALLOWANCE = 128d;
+    
+    private static ThreadMXBean threads;
+    private static FloorWorld world;
+    
+    @BeforeClass
+    public static void setup () {
+        
+        TestHelper.bootstrap();
+        threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        world = new FloorWorld();
+        
+        // Wisps and slimes leave or die in daylight.
+        world.setWorldTime(18000L);
+        world.calculateInitialSkylight();
+        world.loadChunks(0, 0, 8);
+    }
+    
+    @Test
+    public void wispPerTick () {
+        
+        assertTickWithinBudget("wisp", new EntityWisp(world), new EntityBat(world));
+    }
+    
+    @Test
+    public void pumpkinSlimePerTick () {
+        
+        assertTickWithinBudget("pumpkin slime", new EntityPumpkinSlime(world), new EntitySlime(world));
+    }
+    
+    @Test
+    public void netherKnightPerTick () {
+        
+        assertTickWithinBudget("nether knight", new EntityNetherKnight(world), new EntitySkeleton(world));
+    }
+    
+    @Test
+    public void cursedArmorPerTick () {
+        
+        // The armor is left without a set. Changing equipment sends it to the entity tracker,
+        // which this world does not have.
+        assertTickWithinBudget("cursed armor", new EntityCursedArmor(world), new EntitySkeleton(world));
+    }
+    
+    @Test
+    public void knightWeaknessPerTick () {
+        
+        final EntityNetherKnight knight = new EntityNetherKnight(world);
+        final PotionEffect weakness = new PotionEffect(MobEffects.WEAKNESS, 25);
+        
+        assertWithinBudget("nether knight weakness", () -> {
+            
+            EffectUtils.maintainEffect(knight, weakness);
+            return true;
+        });
+        
+        // The weakness is topped back up every tick instead of running down.
+        assertEquals(25, knight.getActivePotionEffect(MobEffects.WEAKNESS).getDuration());
+    }
+    
+    @Test
+    public void wispLightCheckPerSpawn () {
+        
+        final EntityWisp wisp = new EntityWisp(world);
+        wisp.setPosition(0.5d, 64d, 0.5d);
+        assertWithinBudget("wisp light check", wisp::isValidLightLevel);
+    }
+    
+    @Test
+    public void slimeOwnerPerCollision () {
+        
+        final EntityPumpkinSlime slime = new EntityPumpkinSlime(world);
+        slime.setOwnerId(new UUID(42L, 42L));
+        
+        // The owner is looked up every time a player touches the slime.
+        assertWithinBudget("pumpkin slime owner", slime::canDamagePlayer);
+    }
+    
+    private static void assertTickWithinBudget (String name, EntityLiving mob, EntityLiving vanilla) {
+        
+        final double budget = measureTick(vanilla) + TICK_ALLOWANCE;
+        final double perTick = measureTick(mob);
+        assertTrue(String.format("A %s allocated %.1f bytes per tick, the budget is %.1f.", name, perTick, budget), perTick <= budget);
+    }
+    
+    /**
+     * Ticks a mob standing on the floor of the world and measures what it allocates.
+     *
+     * @param mob The mob to tick.
+     * @return The bytes allocated per tick.
+     */
+    private static double measureTick (EntityLiving mob) {
+        
+        final BlockPos home = new BlockPos(8, FloorWorld.FLOOR + 1, 8);
+        mob.setLocationAndAngles(home.getX() + 0.5d, home.getY(), home.getZ() + 0.5d, 0f, 0f);
+        mob.setHomePosAndDistance(home, 16);
+        
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            
+            tick(mob);
+        }
+        
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        
+        for (int tick = 0; tick < TICKS; tick++) {
+            
+            tick(mob);
+        }
+        
+        final double perTick = (threads.getThreadAllocatedBytes(threadId) - before) / (double) TICKS;
+        
+        // A mob that died partway through would allocate less than a living one.
+        assertFalse(mob.getName() + " died while it was measured.", mob.isDead);
+        return perTick;
+    }
+    
+    private static void tick (EntityLiving mob) {
+        
+        mob.ticksExisted++;
+        mob.onUpdate();
+    }
+    
+    private static void assertWithinBudget (String name, BooleanSupplier path) {
+        
+        // The results are kept so the runs can't be removed as dead code.
+        int results = 0;
+        
+        for (int i = 0; i < WARMUP; i++) {
+            
+            results += path.getAsBoolean() ? 1 : 0;
+        }
+        
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        
+        for (int i = 0; i < RUNS; i++) {
+            
+            results += path.getAsBoolean() ? 1 : 0;
+        }
+        
+        final double perRun = (threads.getThreadAllocatedBytes(threadId) - before) / (double) RUNS;
+        assertTrue(String.format("The %s allocated %.2f bytes per run, the budget is %.2f.", name, perRun, BUDGET), perRun <= BUDGET);
+        assertTrue(results >= 0);
+    }
+}
@@ -0,0 +1,148 @@
+package com.jarhax.eerieentities.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.init.Enchantments;
+import net.minecraft.init.Items;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+public class EntityCursedArmorTest {
+    
+    @BeforeClass
+    public static void bootstrap () {
+        
+        TestHelper.bootstrap();
+    }
+    
+    @Test
+    public void killedArmorDropsItsSet () {
+        
+        final EntityCursedArmor armor = new EntityCursedArmor(new TestWorld());
+        armor.setArmorSet(0);
+        
+        // Drop chances above one always drop, without damaging the items.
+        for (final EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
+            
+            armor.setDropChance(slot, 2f);
+        }
+        
+        armor.captureDrops = true;
+        armor.dropEquipment(false, 0);
+        
+        final List<Item> dropped = new ArrayList<>();
+        
+        for (final EntityItem drop : armor.capturedDrops) {
+            
+            dropped.add(drop.getItem().getItem());
+            assertEquals(0, drop.getItem().getItemDamage());
+        }
+        
+        assertEquals(5, dropped.size());
+        assertTrue(dropped.contains(Items.IRON_BOOTS));
+        assertTrue(dropped.contains(Items.IRON_LEGGINGS));
+        assertTrue(dropped.contains(Items.IRON_CHESTPLATE));
+        assertTrue(dropped.contains(Items.IRON_HELMET));
+        assertTrue(dropped.contains(Items.IRON_SWORD));
+    }
+    
+    @Test
+    public void replacedSlotsDropTheirOwnItem () {
+        
+        final EntityCursedArmor armor = new EntityCursedArmor(new TestWorld());
+        armor.setArmorSet(0);
+        armor.setItemStackToSlot(EntityEquipmentSlot.HEAD, new ItemStack(Items.DIAMOND_HELMET));
+        
+        for (final EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
+            
+            armor.setDropChance(slot, 2f);
+        }
+        
+        armor.captureDrops = true;
+        armor.dropEquipment(false, 0);
+        
+        final List<Item> dropped = new ArrayList<>();
+        
+        for (final EntityItem drop : armor.capturedDrops) {
+            
+            dropped.add(drop.getItem().getItem());
+        }
+        
+        assertEquals(5, dropped.size());
+        assertTrue(dropped.contains(Items.DIAMOND_HELMET));
+        assertFalse(dropped.contains(Items.IRON_HELMET));
+    }
+    
+    @Test
+    public void droppedSetItemsAreDamagedLikeVanilla () {
+        
+        final EntityCursedArmor armor = new EntityCursedArmor(new TestWorld());
+        armor.setArmorSet(0);
+        armor.captureDrops = true;
+        
+        // A drop chance of one always passes the roll, but is not a guaranteed drop.
+        for (final EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
+            
+            armor.setDropChance(slot, 1f);
+        }
+        
+        for (int kill = 0; kill < 200; kill++) {
+            
+            armor.capturedDrops.clear();
+            armor.dropEquipment(true, 0);
+            assertEquals(5, armor.capturedDrops.size());
+            
+            for (final EntityItem drop : armor.capturedDrops) {
+                
+                final ItemStack stack = drop.getItem();
+                
+                // Vanilla leaves at least 4 damage and at most the max damage.
+                assertTrue(stack.getItemDamage() >= 4);
+                assertTrue(stack.getItemDamage() <= stack.getMaxDamage());
+            }
+        }
+    }
+    
+    @Test
+    public void vanishingItemsAreNotDropped () {
+        
+        final EntityCursedArmor armor = new EntityCursedArmor(new TestWorld());
+        armor.setArmorSet(0);
+        armor.captureDrops = true;
+        
+        final ItemStack cursed = new ItemStack(Items.DIAMOND_HELMET);
+        cursed.addEnchantment(Enchantments.VANISHING_CURSE, 1);
+        armor.setItemStackToSlot(EntityEquipmentSlot.HEAD, cursed);
+        
+        for (final EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
+            
+            armor.setDropChance(slot, 2f);
+        }
+        
+        armor.dropEquipment(true, 0);
+        
+        final List<Item> dropped = new ArrayList<>();
+        
+        for (final EntityItem drop : armor.capturedDrops) {
+            
+            dropped.add(drop.getItem().getItem());
+        }
+        
+        assertEquals(4, dropped.size());
+        assertFalse(dropped.contains(Items.DIAMOND_HELMET));
+        assertFalse(dropped.contains(Items.IRON_HELMET));
+    }
+}
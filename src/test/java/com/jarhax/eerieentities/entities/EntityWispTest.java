@@ -0,0 +1,37 @@
+package com.jarhax.eerieentities.entities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jarhax.eerieentities.test.TestHelper;
+import com.jarhax.eerieentities.test.TestWorld;
+
+import net.minecraft.world.DifficultyInstance;
+import net.minecraft.world.EnumDifficulty;
+
+public class EntityWispTest {
+    
+    @BeforeClass
+    public static void bootstrap () {
+        
+        TestHelper.bootstrap();
+    }
+    
+    @Test
+    public void spawnedWispsKeepTheDate () {
+        
+        final Calendar before = Calendar.getInstance();
+        final EntityWisp wisp = new EntityWisp(new TestWorld());
+        wisp.onInitialSpawn(new DifficultyInstance(EnumDifficulty.NORMAL, 0L, 0L, 0f), null);
+        
+        // The date can't be checked if it changed while the wisp spawned.
+        Assume.assumeTrue(before.get(Calendar.DAY_OF_YEAR) == Calendar.getInstance().get(Calendar.DAY_OF_YEAR));
+        assertEquals(before.get(Calendar.DAY_OF_MONTH), wisp.getDay());
+        assertEquals(before.get(Calendar.MONTH) + 1, wisp.getMonth());
+    }
+}
@@ -0,0 +1,118 @@
+package com.jarhax.eerieentities.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jarhax.eerieentities.config.Config;
+import com.jarhax.eerieentities.test.TestHelper;
+
+/**
+ * Starts the metrics endpoint on a free loopback port and scrapes it the same way Prometheus
+ * would.
+ */
+public class MetricsTest {
+    
+    @Before
+    public void start () {
+        
+        TestHelper.bootstrap();
+        Config.metricsEndpoint = true;
+        Config.metricsPort = 0;
+        Metrics.start();
+        assertTrue(Metrics.isEnabled());
+    }
+    
+    @After
+    public void stop () {
+        
+        Metrics.stop();
+    }
+    
+    @Test
+    public void servesCountersOverHttp () throws IOException {
+        
+        Metrics.countSpawn(Config.wisp);
+        Metrics.countReinforcement();
+        Metrics.countTransform(true);
+        
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + Metrics.getPort() + "/metrics").openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        
+        try {
+            
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("text/plain; version=0.0.4; charset=utf-8", connection.getContentType());
+            
+            final String body = read(connection.getInputStream());
+            assertTrue(body.contains("# TYPE eerie_spawns_total counter\n"));
+            assertTrue(getValue(body, "eerie_spawns_total{mob=\"" + Config.wisp.getName() + "\"}") >= 1);
+            assertTrue(getValue(body, "eerie_knight_reinforcements_total") >= 1);
+            assertTrue(getValue(body, "eerie_slime_transforms_total{to=\"block\"}") >= 1);
+        }
+        
+        finally {
+            
+            connection.disconnect();
+        }
+    }
+    
+    @Test
+    public void onlyServesMetricsPath () throws IOException {
+        
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + Metrics.getPort() + "/other").openConnection();
+        
+        try {
+            
+            assertEquals(404, connection.getResponseCode());
+        }
+        
+        finally {
+            
+            connection.disconnect();
+        }
+    }
+    
+    /**
+     * Reads the value of a single sample from the response.
+     *
+     * @param body The response body.
+     * @param sample The name and labels of the sample.
+     * @return The value of the sample.
+     */
+    private static double getValue (String body, String sample) {
+        
+        final Matcher matcher = Pattern.compile("^" + Pattern.quote(sample) + " (\\S+)$", Pattern.MULTILINE).matcher(body);
+        assertTrue("Missing sample " + sample, matcher.find());
+        return Double.parseDouble(matcher.group(1));
+    }
+    
+    private static String read (InputStream input) throws IOException {
+        
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        
+        try (InputStream stream = input) {
+            
+            for (int read = stream.read(buffer); read >= 0; read = stream.read(buffer)) {
+                
+                output.write(buffer, 0, read);
+            }
+        }
+        
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
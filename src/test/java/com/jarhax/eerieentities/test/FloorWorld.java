@@ -0,0 +1,110 @@
+package com.jarhax.eerieentities.test;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.IChunkProvider;
+
+/**
+ * A server world where every chunk is loaded and holds a single layer of stone at
+ * {@link #FLOOR}, with air everywhere else. This is enough for mobs to stand, walk and read the
+ * blocks or light around them.
+ */
+public class FloorWorld extends TestWorld {
+    
+    public static final int FLOOR = 63;
+    
+    public FloorWorld() {
+        
+        this.chunkProvider = new FloorChunkProvider(this);
+    }
+    
+    /**
+     * Loads the chunks around a position, so they are not created while something is measured.
+     *
+     * @param chunkX The x position of the center chunk.
+     * @param chunkZ The z position of the center chunk.
+     * @param radius The amount of chunks to load in each direction.
+     */
+    public void loadChunks (int chunkX, int chunkZ, int radius) {
+        
+        for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+            
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                
+                this.chunkProvider.provideChunk(x, z);
+            }
+        }
+    }
+    
+    @Override
+    protected boolean isChunkLoaded (int x, int z, boolean allowEmpty) {
+        
+        return true;
+    }
+    
+    private static class FloorChunkProvider implements IChunkProvider {
+        
+        private final World world;
+        private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+        
+        private FloorChunkProvider(World world) {
+            
+            this.world = world;
+        }
+        
+        @Override
+        public Chunk getLoadedChunk (int x, int z) {
+            
+            return this.provideChunk(x, z);
+        }
+        
+        @Override
+        public Chunk provideChunk (int x, int z) {
+            
+            final long key = ChunkPos.asLong(x, z);
+            Chunk chunk = this.chunks.get(key);
+            
+            if (chunk == null) {
+                
+                final ChunkPrimer primer = new ChunkPrimer();
+                
+                for (int blockX = 0; blockX < 16; blockX++) {
+                    
+                    for (int blockZ = 0; blockZ < 16; blockZ++) {
+                        
+                        primer.setBlockState(blockX, FLOOR, blockZ, Blocks.STONE.getDefaultState());
+                    }
+                }
+                
+                chunk = new Chunk(this.world, primer, x, z);
+                chunk.generateSkylightMap();
+                this.chunks.put(key, chunk);
+            }
+            
+            return chunk;
+        }
+        
+        @Override
+        public boolean tick () {
+            
+            return false;
+        }
+        
+        @Override
+        public String makeString () {
+            
+            return "FloorChunkProvider: " + this.chunks.size();
+        }
+        
+        @Override
+        public boolean isChunkGeneratedAt (int x, int z) {
+            
+            return true;
+        }
+    }
+}
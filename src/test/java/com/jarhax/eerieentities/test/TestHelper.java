@@ -0,0 +1,24 @@
+package com.jarhax.eerieentities.test;
+
+import com.jarhax.eerieentities.config.Config;
+
+import net.minecraft.init.Bootstrap;
+
+public class TestHelper {
+    
+    private static boolean ready;
+    
+    /**
+     * Registers the vanilla game content and loads the mod's config, which most of the mod's
+     * code expects to have happened already.
+     */
+    public static synchronized void bootstrap () {
+        
+        if (!ready) {
+            
+            Bootstrap.register();
+            Config.syncConfigData();
+            ready = true;
+        }
+    }
+}
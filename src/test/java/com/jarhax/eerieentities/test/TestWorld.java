@@ -0,0 +1,36 @@
+package com.jarhax.eerieentities.test;
+
+import net.minecraft.profiler.Profiler;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+/**
+ * A server world without any chunks, which is enough to construct entities and read or write
+ * their data. The benchmarks use it as well.
+ */
+public class TestWorld extends World {
+    
+    public TestWorld() {
+        
+        super(new SaveHandlerMP(), new WorldInfo(new WorldSettings(0L, GameType.SURVIVAL, false, false, WorldType.FLAT), "test"), new WorldProviderSurface(), new Profiler(), false);
+        this.provider.setWorld(this);
+    }
+    
+    @Override
+    protected IChunkProvider createChunkProvider () {
+        
+        return null;
+    }
+    
+    @Override
+    protected boolean isChunkLoaded (int x, int z, boolean allowEmpty) {
+        
+        return false;
+    }
+}